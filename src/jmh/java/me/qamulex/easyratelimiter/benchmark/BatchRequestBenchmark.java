@@ -0,0 +1,75 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.qamulex.easyratelimiter.RateLimiterBuilder;
+import me.qamulex.easyratelimiter.wrapper.RateLimiterMap;
+
+/**
+ * Compares deciding a batch of events one by one against a single batch decision.
+ * 
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchRequestBenchmark {
+
+    @Param({ "10000" })
+    public int batchSize;
+
+    @Param({ "1000" })
+    public int keyCount;
+
+    private RateLimiterMap<Integer> limiters;
+    private Integer[]               keys;
+    private boolean[]               results;
+
+    @Setup
+    public void setUp() {
+        limiters = RateLimiterBuilder.newBuilder()
+                .withWindowSize(1, TimeUnit.MILLISECONDS)
+                .withMaxQuota(Integer.MAX_VALUE)
+                .useFixedWindow()
+                .enforceThreadSafety(true)
+                .buildMap();
+
+        Random random = new Random(0);
+        keys = new Integer[batchSize];
+        for (int i = 0; i < batchSize; i++)
+            keys[i] = random.nextInt(keyCount);
+
+        results = new boolean[batchSize];
+    }
+
+    @Benchmark
+    public boolean[] oneByOne() {
+        for (int i = 0; i < keys.length; i++)
+            results[i] = limiters.get(keys[i]).tryRequest();
+
+        return results;
+    }
+
+    @Benchmark
+    public boolean[] batch() {
+        limiters.tryRequestAll(keys, results);
+        return results;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.util.CoarseNanoTimeClock;
+import me.qamulex.easyratelimiter.util.NanoTimeClock;
+import me.qamulex.easyratelimiter.util.Ticker;
+
+/**
+ * Compares the cost of a rate limiter decision with {@link NanoTimeClock} and {@link CoarseNanoTimeClock}.
+ * 
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClockReadBenchmark {
+
+    @Param({ "nanoTime", "coarse" })
+    public String clock;
+
+    private Ticker                 ticker;
+    private FixedWindowRateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        ticker = clock.equals("coarse") ? CoarseNanoTimeClock.INSTANCE : NanoTimeClock.INSTANCE;
+
+        rateLimiter = new FixedWindowRateLimiter(Integer.MAX_VALUE, 1000);
+        rateLimiter.setTicker(ticker);
+    }
+
+    @Benchmark
+    public long read() {
+        return ticker.read();
+    }
+
+    @Benchmark
+    public boolean tryRequest() {
+        return rateLimiter.tryRequest();
+    }
+
+    @Benchmark
+    public boolean decision() {
+        return rateLimiter.isRequestAllowed()
+                && rateLimiter.getTimeUntilNextRequest() == 0
+                && rateLimiter.tryRequest();
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import me.qamulex.easyratelimiter.RateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.wrapper.RateLimiterThreadSafetyEnforcementWrapper;
+
+/**
+ * Compares the lock-free fixed window against the synchronized wrapper under contention.
+ * 
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(32)
+public class FixedWindowContentionBenchmark {
+
+    @Param({ "wrapped", "concurrent" })
+    public String implementation;
+
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        if (implementation.equals("wrapped"))
+            rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(new FixedWindowRateLimiter(Integer.MAX_VALUE, 1000));
+        else
+            rateLimiter = new ConcurrentFixedWindowRateLimiter(Integer.MAX_VALUE, 1000);
+    }
+
+    @Benchmark
+    public boolean tryRequest() {
+        return rateLimiter.tryRequest();
+    }
+
+    @Benchmark
+    public boolean isRequestAllowed() {
+        return rateLimiter.isRequestAllowed();
+    }
+
+}
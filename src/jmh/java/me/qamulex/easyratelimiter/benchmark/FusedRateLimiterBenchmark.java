@@ -0,0 +1,72 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.qamulex.easyratelimiter.RateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+
+/**
+ * Compares a fused delay and window rate limiter against the combination of two rate limiters.
+ * 
+ * <p>
+ * Run with {@code ./gradlew jmh}. The {@code create*} benchmarks report the bytes per rate limiter
+ * as {@code gc.alloc.rate.norm} when run with {@code -prof gc}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FusedRateLimiterBenchmark {
+
+    private static final long DELAY_NANOS       = 1;
+    private static final int  MAX_QUOTA         = Integer.MAX_VALUE;
+    private static final long WINDOW_SIZE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private RateLimiter combined;
+    private RateLimiter fused;
+
+    @Setup
+    public void setUp() {
+        combined = createCombined();
+        fused = createFused();
+    }
+
+    @Benchmark
+    public boolean combinedTryRequest() {
+        return combined.tryRequest();
+    }
+
+    @Benchmark
+    public boolean fusedTryRequest() {
+        return fused.tryRequest();
+    }
+
+    @Benchmark
+    public RateLimiter createCombined() {
+        return new FixedDelayWindowBasedRateLimiter(
+                new FixedDelayRateLimiter(DELAY_NANOS, TimeUnit.NANOSECONDS),
+                new FixedWindowRateLimiter(MAX_QUOTA, WINDOW_SIZE_NANOS, TimeUnit.NANOSECONDS)
+        );
+    }
+
+    @Benchmark
+    public RateLimiter createFused() {
+        return new FixedDelayFixedWindowRateLimiter(DELAY_NANOS, MAX_QUOTA, WINDOW_SIZE_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+}
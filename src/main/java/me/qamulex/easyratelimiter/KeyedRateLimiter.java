@@ -0,0 +1,82 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+/**
+ * A rate limiter that limits every key independently, without exposing a {@link RateLimiter} per key.
+ * 
+ * @param <K> the type of keys
+ */
+public interface KeyedRateLimiter<K> {
+
+    /**
+     * Returns the estimated time in milliseconds until the next request of the key is allowed.
+     * 
+     * @param key the key
+     * @return the remaining time in milliseconds, or 0 if a request is currently allowed.
+     */
+    long getTimeUntilNextRequest(K key);
+
+    /**
+     * Returns the estimated time in milliseconds until a request of the given number of permits of the key is allowed.
+     * 
+     * @param key     the key
+     * @param permits the number of permits. Must be greater than zero.
+     * @return the remaining time in milliseconds, or 0 if the request is currently allowed.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    long getTimeUntilNextRequest(K key, int permits);
+
+    /**
+     * Checks if a request of the key is allowed without blocking.
+     * 
+     * @param key the key
+     * @return true if the request is allowed, false otherwise.
+     */
+    boolean isRequestAllowed(K key);
+
+    /**
+     * Checks if a request of the given number of permits of the key is allowed without blocking.
+     * 
+     * @param key     the key
+     * @param permits the number of permits. Must be greater than zero.
+     * @return true if the request is allowed, false otherwise.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    boolean isRequestAllowed(K key, int permits);
+
+    /**
+     * Attempts to perform a request of the key without blocking.
+     * 
+     * @param key the key
+     * @return true if the request was allowed and performed, false otherwise.
+     */
+    boolean tryRequest(K key);
+
+    /**
+     * Attempts to perform a request of the given number of permits of the key without blocking.
+     * Either all permits are taken or none.
+     * 
+     * @param key     the key
+     * @param permits the number of permits. Must be greater than zero.
+     * @return true if the request was allowed and performed, false otherwise.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    boolean tryRequest(K key, int permits);
+
+    /**
+     * Resets the state of the key.
+     * 
+     * @param key the key
+     */
+    void reset(K key);
+
+    /**
+     * Resets the state of all keys.
+     */
+    void reset();
+
+}
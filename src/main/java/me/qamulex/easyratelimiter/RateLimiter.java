@@ -6,8 +6,19 @@
 package me.qamulex.easyratelimiter;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import me.qamulex.easyratelimiter.util.SharedScheduler;
+
+/**
+ * A rate limiter.
+ * 
+ * <p>
+ * Weighted requests, reservations, idleness and returning permits have default implementations
+ * in terms of the single-permit methods, so implementations written before them keep working:
+ * requests of a single permit are delegated, other features are unsupported.
+ */
 public interface RateLimiter {
 
     /**
@@ -17,6 +28,18 @@ public interface RateLimiter {
      */
     long getTimeUntilNextRequest();
 
+    /**
+     * Returns the estimated time in milliseconds until a request of the given number of permits is allowed.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return the remaining time in milliseconds, or 0 if the request is currently allowed.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    default long getTimeUntilNextRequest(int permits) {
+        SinglePermit.check(permits);
+        return getTimeUntilNextRequest();
+    }
+
     /**
      * Checks if a request is allowed without blocking.
      * 
@@ -24,6 +47,18 @@ public interface RateLimiter {
      */
     boolean isRequestAllowed();
 
+    /**
+     * Checks if a request of the given number of permits is allowed without blocking.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return true if the request is allowed, false otherwise.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    default boolean isRequestAllowed(int permits) {
+        SinglePermit.check(permits);
+        return isRequestAllowed();
+    }
+
     /**
      * Attempts to perform a request without blocking.
      * Captures the request timestamp if allowed.
@@ -32,6 +67,117 @@ public interface RateLimiter {
      */
     boolean tryRequest();
 
+    /**
+     * Attempts to perform a request of the given number of permits without blocking.
+     * Either all permits are acquired or none.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return true if the request was successful, false otherwise.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    default boolean tryRequest(int permits) {
+        SinglePermit.check(permits);
+        return tryRequest();
+    }
+
+    /**
+     * Reserves the next request without blocking.
+     * The request is accounted for at the time it becomes allowed,
+     * the caller is expected to wait the returned time before performing it.
+     * 
+     * <p>
+     * Later requests are queued behind the reservation.
+     * 
+     * <p>
+     * The default implementation does not support reservations.
+     * 
+     * @return the time in milliseconds until the reserved request is allowed, or 0 if it is allowed immediately.
+     * @throws UnsupportedOperationException if the rate limiter does not support reservations.
+     */
+    default long reserve() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support reservations");
+    }
+
+    /**
+     * Reserves the next request of the given number of permits without blocking.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return the time in milliseconds until the reserved request is allowed, or 0 if it is allowed immediately.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     * @see #reserve()
+     */
+    default long reserve(int permits) {
+        SinglePermit.check(permits);
+        return reserve();
+    }
+
+    /**
+     * Reserves the next request and returns a future that is completed once the request is allowed.
+     * No thread is blocked while waiting, the future is completed by a shared timer thread.
+     * 
+     * <p>
+     * The reservation is not returned if the future is cancelled.
+     * 
+     * <p>
+     * The default implementation reserves the request with {@link #reserve()}.
+     * 
+     * @return a future completed when the request is allowed.
+     * @throws UnsupportedOperationException if the rate limiter does not support reservations.
+     */
+    default CompletableFuture<Void> acquireAsync() {
+        return SharedScheduler.INSTANCE.completeAfter(TimeUnit.MILLISECONDS.toNanos(reserve()), null);
+    }
+
+    /**
+     * Reserves the next request of the given number of permits and returns a future
+     * that is completed once the request is allowed.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return a future completed when the request is allowed.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     * @see #acquireAsync()
+     */
+    default CompletableFuture<Void> acquireAsync(int permits) {
+        SinglePermit.check(permits);
+        return acquireAsync();
+    }
+
+    /**
+     * Reserves the next request only if it becomes allowed within the timeout,
+     * and returns a future that is completed once the request is allowed.
+     * 
+     * <p>
+     * If the timeout is less than the actual time required for the next request
+     * to be allowed, nothing is reserved and the returned future is completed with {@code false} immediately.
+     * 
+     * <p>
+     * The default implementation does not support reservations.
+     * 
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return a future completed with true when the request is allowed, or with false if it was not reserved.
+     * @throws UnsupportedOperationException if the rate limiter does not support reservations.
+     */
+    default CompletableFuture<Boolean> acquireAsync(long timeout, TimeUnit unit) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support reservations");
+    }
+
+    /**
+     * Reserves the next request of the given number of permits only if it becomes allowed within the timeout,
+     * and returns a future that is completed once the request is allowed.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return a future completed with true when the request is allowed, or with false if it was not reserved.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     * @see #acquireAsync(long, TimeUnit)
+     */
+    default CompletableFuture<Boolean> acquireAsync(int permits, long timeout, TimeUnit unit) {
+        SinglePermit.check(permits);
+        return acquireAsync(timeout, unit);
+    }
+
     /**
      * Blocks until a request is allowed and performs the request.
      * Captures the request timestamp when the request is successful.
@@ -40,6 +186,18 @@ public interface RateLimiter {
      */
     void blockUntilRequestAllowed() throws InterruptedException;
 
+    /**
+     * Blocks until a request of the given number of permits is allowed and performs the request.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @throws InterruptedException     if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    default void blockUntilRequestAllowed(int permits) throws InterruptedException {
+        SinglePermit.check(permits);
+        blockUntilRequestAllowed();
+    }
+
     /**
      * Blocks for a specified maximum time until a request is allowed.
      * Captures the request timestamp if the request is successful.
@@ -55,6 +213,21 @@ public interface RateLimiter {
      */
     boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) throws InterruptedException;
 
+    /**
+     * Blocks for a specified maximum time until a request of the given number of permits is allowed.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return true if the request was allowed within the timeout, false otherwise.
+     * @throws InterruptedException     if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    default boolean blockUntilRequestAllowed(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        SinglePermit.check(permits);
+        return blockUntilRequestAllowed(timeout, unit);
+    }
+
     /**
      * Blocks for a specified maximum time until a request is allowed.
      * Captures the request timestamp if the request is successful.
@@ -69,6 +242,57 @@ public interface RateLimiter {
      */
     boolean blockUntilRequestAllowed(Duration duration) throws InterruptedException;
 
+    /**
+     * Checks if the limiter state has fully decayed, i.e. the limiter behaves
+     * exactly like a newly created (or reset) one. An idle limiter can be discarded
+     * and created again later without changing the policy.
+     * 
+     * <p>
+     * The default implementation never reports the limiter as idle, so it is never discarded.
+     * 
+     * @return true if the limiter is idle, false otherwise.
+     */
+    default boolean isIdle() {
+        return false;
+    }
+
+    /**
+     * Returns a permit of the latest requests that went unused,
+     * e.g. because the work failed before it started.
+     * 
+     * <p>
+     * The default implementation does not support returning permits.
+     * 
+     * @throws UnsupportedOperationException if the rate limiter does not support returning permits.
+     * @see #release(int)
+     */
+    default void release() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support returning permits");
+    }
+
+    /**
+     * Returns the given number of permits of the latest requests that went unused,
+     * e.g. because the work failed before it started, so they can be granted again.
+     * 
+     * <p>
+     * Only permits still counted by the limiter are returned; releasing more permits
+     * than were acquired leaves the limiter as if the released requests never happened.
+     * 
+     * <p>
+     * The default implementation returns the permits one by one with {@link #release()}.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @throws IllegalArgumentException      if permits is less than one.
+     * @throws UnsupportedOperationException if the rate limiter does not support returning permits.
+     */
+    default void release(int permits) {
+        if (permits < 1)
+            throw new IllegalArgumentException("permits must be greater than 0");
+
+        for (int i = 0; i < permits; i++)
+            release();
+    }
+
     /**
      * Resets the limiter state.
      */
@@ -7,29 +7,48 @@ package me.qamulex.easyratelimiter;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import me.qamulex.easyratelimiter.impl.AdaptiveRateLimiter;
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
 import me.qamulex.easyratelimiter.impl.ClockDependentRateLimiter;
+import me.qamulex.easyratelimiter.impl.CompositeRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.CountMinSketchRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayFixedWindowRateLimiter;
 import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
 import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
 import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
 import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.TokenBucketRateLimiter;
 import me.qamulex.easyratelimiter.impl.UselessRateLimiter;
 import me.qamulex.easyratelimiter.impl.WindowBasedRateLimiter;
+import me.qamulex.easyratelimiter.util.BucketType;
+import me.qamulex.easyratelimiter.util.ClockTicker;
 import me.qamulex.easyratelimiter.util.NanoTimeClock;
+import me.qamulex.easyratelimiter.util.Ticker;
 import me.qamulex.easyratelimiter.util.WindowType;
+import me.qamulex.easyratelimiter.wrapper.CompactRateLimiterMap;
+import me.qamulex.easyratelimiter.wrapper.KeyedRateLimitingExecutorService;
 import me.qamulex.easyratelimiter.wrapper.RateLimiterMap;
 import me.qamulex.easyratelimiter.wrapper.RateLimiterThreadSafetyEnforcementWrapper;
 import me.qamulex.easyratelimiter.wrapper.RateLimitingExecutorService;
+import me.qamulex.easyratelimiter.wrapper.RejectionPolicy;
 
 @Setter(AccessLevel.PRIVATE)
 @Accessors(chain = true)
@@ -43,12 +62,16 @@ public final class RateLimiterBuilder {
      * <p>
      * By default:
      * <ul>
-     * <li>clock is {@code null} (see {@link RateLimiterBuilder#withClock}).</li>
+     * <li>ticker is {@code null} (see {@link RateLimiterBuilder#withTicker}).</li>
      * <li>delay is {@code 0}.</li>
      * <li>windowSize is {@code 0}.</li>
      * <li>windowType is {@code WindowType.SLIDING}.</li>
      * <li>maxQuota is {@code 1}.</li>
+     * <li>refillPermits is {@code 0} (see {@link RateLimiterBuilder#withRefillRate}).</li>
+     * <li>burstSize is {@code 0} (see {@link RateLimiterBuilder#withBurstSize}).</li>
+     * <li>bucketType is {@code BucketType.TOKEN_BUCKET}.</li>
      * <li>enforceThreadSafety is {@code false}.</li>
+     * <li>no additional windows (see {@link RateLimiterBuilder#withAdditionalWindow}).</li>
      * </ul>
      * 
      * @return a new RateLimiterBuilder instance.
@@ -57,13 +80,48 @@ public final class RateLimiterBuilder {
         return new RateLimiterBuilder();
     }
 
-    private Clock      clock               = null;
-    private long       delayMillis         = 0;
-    private long       windowSizeMillis    = 0;
+    private Ticker     ticker              = null;
+    private long       delayNanos          = 0;
+    private long       windowSizeNanos     = 0;
     private WindowType windowType          = WindowType.SLIDING;
     private int        maxQuota            = 1;
+    private int        refillPermits       = 0;
+    private long       refillPeriodNanos   = 0;
+    private int        burstSize           = 0;
+    private BucketType bucketType          = BucketType.TOKEN_BUCKET;
     private boolean    enforceThreadSafety = false;
 
+    private final List<AdditionalWindow> additionalWindows = new ArrayList<>();
+
+    private static final class AdditionalWindow {
+
+        final int  maxQuota;
+        final long windowSizeNanos;
+
+        AdditionalWindow(int maxQuota, long windowSizeNanos) {
+            this.maxQuota = maxQuota;
+            this.windowSizeNanos = windowSizeNanos;
+        }
+
+    }
+
+    /**
+     * Sets the ticker to be used by the RateLimiter.
+     * 
+     * <p>
+     * Default: {@code null}.
+     * 
+     * <p>
+     * If {@code ticker} is {@code null}, any instance of {@link ClockDependentRateLimiter} created by this builder will use
+     * {@link NanoTimeClock#INSTANCE} as the default ticker.
+     * 
+     * @param ticker the ticker to be used.
+     * @return the current RateLimiterBuilder instance for method chaining.
+     */
+    public RateLimiterBuilder withTicker(Ticker ticker) {
+        return setTicker(ticker);
+    }
+
     /**
      * Sets the clock to be used by the RateLimiter.
      * 
@@ -71,6 +129,8 @@ public final class RateLimiterBuilder {
      * Default: {@code null}.
      * 
      * <p>
+     * The clock is adapted to a {@link Ticker}, which limits precision to milliseconds
+     * unless the clock is a {@link Ticker} itself (such as {@link NanoTimeClock}).
      * If {@code clock} is {@code null}, any instance of {@link ClockDependentRateLimiter} created by this builder will use
      * {@link NanoTimeClock#INSTANCE} as the default clock.
      * 
@@ -78,7 +138,10 @@ public final class RateLimiterBuilder {
      * @return the current RateLimiterBuilder instance for method chaining.
      */
     public RateLimiterBuilder withClock(Clock clock) {
-        return setClock(clock);
+        if (clock == null || clock instanceof Ticker)
+            return setTicker((Ticker) clock);
+
+        return setTicker(new ClockTicker(clock));
     }
 
     /**
@@ -92,10 +155,7 @@ public final class RateLimiterBuilder {
      * @throws IllegalArgumentException if delayMillis is negative.
      */
     public RateLimiterBuilder withDelay(long delayMillis) {
-        if (delayMillis < 0)
-            throw new IllegalArgumentException("delay must be greater or equal to zero");
-
-        return setDelayMillis(delayMillis);
+        return withDelay(delayMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -104,6 +164,9 @@ public final class RateLimiterBuilder {
      * <p>
      * Default: {@code 0}.
      * 
+     * <p>
+     * Sub-millisecond delays are supported.
+     * 
      * @param delay the delay value.
      * @param unit  the time unit for the delay. Must not be null.
      * @return the current RateLimiterBuilder instance for method chaining.
@@ -111,7 +174,10 @@ public final class RateLimiterBuilder {
      * @throws NullPointerException     if unit is null.
      */
     public RateLimiterBuilder withDelay(long delay, @NonNull TimeUnit unit) {
-        return withDelay(unit.toMillis(delay));
+        if (delay < 0)
+            throw new IllegalArgumentException("delay must be greater or equal to zero");
+
+        return setDelayNanos(unit.toNanos(delay));
     }
 
     /**
@@ -126,7 +192,7 @@ public final class RateLimiterBuilder {
      * @throws NullPointerException     if delay is null.
      */
     public RateLimiterBuilder withDelay(@NonNull Duration delay) {
-        return withDelay(delay.toMillis());
+        return withDelay(delay.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -140,10 +206,7 @@ public final class RateLimiterBuilder {
      * @throws IllegalArgumentException if windowSizeMillis is zero or negative.
      */
     public RateLimiterBuilder withWindowSize(long windowSizeMillis) {
-        if (windowSizeMillis <= 0)
-            throw new IllegalArgumentException("windowSize must be greater than zero");
-
-        return setWindowSizeMillis(windowSizeMillis);
+        return withWindowSize(windowSizeMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -152,6 +215,9 @@ public final class RateLimiterBuilder {
      * <p>
      * Default: {@code 0}.
      * 
+     * <p>
+     * Sub-millisecond windows are supported.
+     * 
      * @param windowSize the window size value.
      * @param unit       the time unit for the window size. Must not be null.
      * @return the current RateLimiterBuilder instance for method chaining.
@@ -159,7 +225,11 @@ public final class RateLimiterBuilder {
      * @throws NullPointerException     if unit is null.
      */
     public RateLimiterBuilder withWindowSize(long windowSize, @NonNull TimeUnit unit) {
-        return withWindowSize(unit.toMillis(windowSize));
+        long windowSizeNanos = unit.toNanos(windowSize);
+        if (windowSizeNanos <= 0)
+            throw new IllegalArgumentException("windowSize must be greater than zero");
+
+        return setWindowSizeNanos(windowSizeNanos);
     }
 
     /**
@@ -174,7 +244,7 @@ public final class RateLimiterBuilder {
      * @throws NullPointerException     if windowSize is null.
      */
     public RateLimiterBuilder withWindowSize(@NonNull Duration windowSize) {
-        return withWindowSize(windowSize.toMillis());
+        return withWindowSize(windowSize.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -195,6 +265,19 @@ public final class RateLimiterBuilder {
         return setWindowType(WindowType.SLIDING);
     }
 
+    /**
+     * Configures the RateLimiter to use an approximated sliding time window.
+     * 
+     * <p>
+     * Uses constant memory regardless of the maximum quota, at the cost of precision.
+     * See {@link ApproximateSlidingWindowRateLimiter} for the error bounds.
+     * 
+     * @return the current RateLimiterBuilder instance for method chaining.
+     */
+    public RateLimiterBuilder useApproximateSlidingWindow() {
+        return setWindowType(WindowType.APPROXIMATE_SLIDING);
+    }
+
     /**
      * Sets the maximum number of requests allowed within a time window.
      * 
@@ -212,12 +295,141 @@ public final class RateLimiterBuilder {
         return setMaxQuota(maxQuota);
     }
 
+    /**
+     * Adds a window that limits requests in addition to the delay and the window configured so far,
+     * e.g. 1000 requests per hour on top of 10 requests per second.
+     * 
+     * <p>
+     * All windows use the configured window type. A request is allowed only if all windows allow it,
+     * and it is counted in all of them or in none (see {@link CompositeRateLimiter}).
+     * 
+     * @param maxQuota   the maximum number of requests within the window. Must be greater than zero.
+     * @param windowSize the window size value.
+     * @param unit       the time unit for the window size. Must not be null.
+     * @return the current RateLimiterBuilder instance for method chaining.
+     * @throws IllegalArgumentException if maxQuota is less than one or windowSize is zero or negative.
+     * @throws NullPointerException     if unit is null.
+     */
+    public RateLimiterBuilder withAdditionalWindow(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        if (maxQuota < 1)
+            throw new IllegalArgumentException("maxQuota must be greater than zero");
+
+        long windowSizeNanos = unit.toNanos(windowSize);
+        if (windowSizeNanos <= 0)
+            throw new IllegalArgumentException("windowSize must be greater than zero");
+
+        additionalWindows.add(new AdditionalWindow(maxQuota, windowSizeNanos));
+        return this;
+    }
+
+    /**
+     * Adds a window that limits requests in addition to the delay and the window configured so far.
+     * 
+     * @param maxQuota   the maximum number of requests within the window. Must be greater than zero.
+     * @param windowSize the window size duration. Must not be null.
+     * @return the current RateLimiterBuilder instance for method chaining.
+     * @throws IllegalArgumentException if maxQuota is less than one or windowSize is zero or negative.
+     * @throws NullPointerException     if windowSize is null.
+     * @see #withAdditionalWindow(int, long, TimeUnit)
+     */
+    public RateLimiterBuilder withAdditionalWindow(int maxQuota, @NonNull Duration windowSize) {
+        return withAdditionalWindow(maxQuota, windowSize.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Configures the RateLimiter to use a token bucket refilled with the given number of permits per period.
+     * 
+     * <p>
+     * Default: {@code 0} permits, i.e. no token bucket.
+     * 
+     * <p>
+     * A token bucket cannot be combined with a delay or time windows.
+     * 
+     * @param permits the number of permits added per period. Must be greater than zero.
+     * @param period  the refill period value. Must be greater than zero.
+     * @param unit    the time unit for the refill period. Must not be null.
+     * @return the current RateLimiterBuilder instance for method chaining.
+     * @throws IllegalArgumentException if permits or period is zero or negative.
+     * @throws NullPointerException     if unit is null.
+     */
+    public RateLimiterBuilder withRefillRate(int permits, long period, @NonNull TimeUnit unit) {
+        if (permits <= 0)
+            throw new IllegalArgumentException("refill permits must be greater than zero");
+
+        long periodNanos = unit.toNanos(period);
+        if (periodNanos <= 0)
+            throw new IllegalArgumentException("refill period must be greater than zero");
+
+        return setRefillPermits(permits).setRefillPeriodNanos(periodNanos);
+    }
+
+    /**
+     * Configures the RateLimiter to use a token bucket refilled with the given number of permits per period.
+     * 
+     * <p>
+     * Default: {@code 0} permits, i.e. no token bucket.
+     * 
+     * @param permits the number of permits added per period. Must be greater than zero.
+     * @param period  the refill period duration. Must not be null.
+     * @return the current RateLimiterBuilder instance for method chaining.
+     * @throws IllegalArgumentException if permits or period is zero or negative.
+     * @throws NullPointerException     if period is null.
+     */
+    public RateLimiterBuilder withRefillRate(int permits, @NonNull Duration period) {
+        return withRefillRate(permits, period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets the maximum number of permits that can be accumulated for a burst.
+     * 
+     * <p>
+     * Default: {@code 0}, in which case the number of permits refilled per period is used.
+     * 
+     * @param burstSize the burst size. Must be greater than zero.
+     * @return the current RateLimiterBuilder instance for method chaining.
+     * @throws IllegalArgumentException if burstSize is less than one.
+     */
+    public RateLimiterBuilder withBurstSize(int burstSize) {
+        if (burstSize < 1)
+            throw new IllegalArgumentException("burstSize must be greater than zero");
+
+        return setBurstSize(burstSize);
+    }
+
+    /**
+     * Configures the RateLimiter to use a token bucket for the configured refill rate.
+     * 
+     * @return the current RateLimiterBuilder instance for method chaining.
+     */
+    public RateLimiterBuilder useTokenBucket() {
+        return setBucketType(BucketType.TOKEN_BUCKET);
+    }
+
+    /**
+     * Configures the RateLimiter to use the generic cell rate algorithm for the configured refill rate.
+     * 
+     * <p>
+     * Behaves like a token bucket, but keeps a single {@code long} of state and is lock-free,
+     * so it is never wrapped for thread safety.
+     * 
+     * @return the current RateLimiterBuilder instance for method chaining.
+     */
+    public RateLimiterBuilder useGcra() {
+        return setBucketType(BucketType.GCRA);
+    }
+
     /**
      * Enables or disables thread-safety enforcement for the RateLimiter.
      * 
      * <p>
      * Default: {@code false}.
      * 
+     * <p>
+     * If enabled, a lock-free implementation is built where one is available
+     * (e.g. {@link ConcurrentFixedDelayRateLimiter} for a fixed delay or {@link ConcurrentFixedWindowRateLimiter}
+     * for a fixed window). Otherwise the RateLimiter
+     * is wrapped into a {@link RateLimiterThreadSafetyEnforcementWrapper}.
+     * 
      * @param enforceThreadSafety true to enable thread safety, false to disable it.
      * @return the current RateLimiterBuilder instance for method chaining.
      */
@@ -229,58 +441,210 @@ public final class RateLimiterBuilder {
      * Builds a RateLimiter instance based on the current configuration.
      * 
      * @return the configured RateLimiter instance.
-     * @throws IllegalStateException if neither delay nor windowSize is greater than zero.
+     * @throws IllegalStateException if neither delay, windowSize nor refill rate is greater than zero,
+     *                               or if a refill rate is combined with delay or windows.
      */
     public RateLimiter build() {
-        if (delayMillis == 0 && windowSizeMillis == 0)
+        return buildFactory().get();
+    }
+
+    /**
+     * Builds a factory of RateLimiter instances based on the current configuration.
+     * 
+     * <p>
+     * The configuration is validated and resolved once, so the factory only creates instances.
+     * Later changes of this builder do not affect the factory.
+     * 
+     * @return a factory of configured RateLimiter instances.
+     * @throws IllegalStateException if neither delay, windowSize nor refill rate is greater than zero,
+     *                               or if a refill rate is combined with delay or windows.
+     */
+    public Supplier<RateLimiter> buildFactory() {
+        if (refillPermits > 0) {
+            if (delayNanos > 0 || windowSizeNanos > 0 || !additionalWindows.isEmpty())
+                throw new IllegalStateException("refill rate cannot be combined with delay or windows");
+
+            if (bucketType == BucketType.GCRA)
+                return applyTicker(createGcraRateLimiterFactory())::get;
+
+            return enforceThreadSafetyIfRequired(applyTicker(createTokenBucketRateLimiterFactory()));
+        }
+
+        if (delayNanos == 0 && windowSizeNanos == 0 && additionalWindows.isEmpty())
             throw new IllegalStateException("delay or windowSize must be greater than zero");
 
-        FixedDelayRateLimiter fixedDelayRateLimiter = tryCreateFixedDelayRateLimiter();
-        WindowBasedRateLimiter windowBasedRateLimiter = tryCreateWindowBasedRateLimiter();
+        if (!additionalWindows.isEmpty())
+            return enforceThreadSafetyIfRequired(applyTicker(createCompositeRateLimiterFactory()));
 
-        RateLimiter rateLimiter = tryCombineRateLimiters(fixedDelayRateLimiter, windowBasedRateLimiter);
-        if (rateLimiter == null)
-            return UselessRateLimiter.INSTANCE;
+        if (enforceThreadSafety) {
+            Supplier<ClockDependentRateLimiter> concurrentRateLimiterFactory = tryCreateConcurrentRateLimiterFactory();
+            if (concurrentRateLimiterFactory != null)
+                return applyTicker(concurrentRateLimiterFactory)::get;
+        }
 
-        if (rateLimiter instanceof ClockDependentRateLimiter && clock != null)
-            ((ClockDependentRateLimiter) rateLimiter).setClock(clock);
+        Supplier<ClockDependentRateLimiter> fusedRateLimiterFactory = tryCreateFusedRateLimiterFactory();
+        if (fusedRateLimiterFactory != null)
+            return enforceThreadSafetyIfRequired(applyTicker(fusedRateLimiterFactory));
 
-        if (enforceThreadSafety)
-            rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(rateLimiter);
+        Supplier<FixedDelayRateLimiter> fixedDelayRateLimiterFactory = tryCreateFixedDelayRateLimiterFactory();
+        Supplier<WindowBasedRateLimiter> windowBasedRateLimiterFactory = tryCreateWindowBasedRateLimiterFactory();
 
-        return rateLimiter;
+        Supplier<ClockDependentRateLimiter> rateLimiterFactory = tryCombineRateLimiterFactories(
+                fixedDelayRateLimiterFactory,
+                windowBasedRateLimiterFactory
+        );
+        if (rateLimiterFactory == null)
+            return () -> UselessRateLimiter.INSTANCE;
+
+        return enforceThreadSafetyIfRequired(applyTicker(rateLimiterFactory));
+    }
+
+    private Supplier<RateLimiter> enforceThreadSafetyIfRequired(Supplier<? extends RateLimiter> rateLimiterFactory) {
+        return enforceThreadSafety
+                ? () -> new RateLimiterThreadSafetyEnforcementWrapper(rateLimiterFactory.get())
+                : rateLimiterFactory::get;
+    }
+
+    private <T extends ClockDependentRateLimiter> Supplier<T> applyTicker(Supplier<T> rateLimiterFactory) {
+        Ticker ticker = this.ticker;
+        if (ticker == null)
+            return rateLimiterFactory;
+
+        return () -> {
+            T rateLimiter = rateLimiterFactory.get();
+            rateLimiter.setTicker(ticker);
+            return rateLimiter;
+        };
     }
 
-    private FixedDelayRateLimiter tryCreateFixedDelayRateLimiter() {
-        if (windowSizeMillis > 0 && maxQuota == 1)
-            return new FixedDelayRateLimiter(windowSizeMillis);
-        else if (delayMillis > 0)
-            return new FixedDelayRateLimiter(delayMillis);
+    // factories capture copies of the configuration, never the builder itself
+
+    private Supplier<ClockDependentRateLimiter> tryCreateConcurrentRateLimiterFactory() {
+        long delayNanos = this.delayNanos;
+        long windowSizeNanos = this.windowSizeNanos;
+        int maxQuota = this.maxQuota;
+
+        if (windowSizeNanos > 0 && maxQuota == 1)
+            return () -> new ConcurrentFixedDelayRateLimiter(windowSizeNanos, TimeUnit.NANOSECONDS);
+        else if (delayNanos > 0 && windowSizeNanos == 0)
+            return () -> new ConcurrentFixedDelayRateLimiter(delayNanos, TimeUnit.NANOSECONDS);
+        else if (delayNanos == 0 && windowSizeNanos > 0 && windowType == WindowType.FIXED)
+            return () -> new ConcurrentFixedWindowRateLimiter(maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
 
         return null;
     }
 
-    private WindowBasedRateLimiter tryCreateWindowBasedRateLimiter() {
-        if (windowSizeMillis > 0 && maxQuota > 1) {
-            if (windowType == WindowType.SLIDING)
-                return new SlidingWindowRateLimiter(maxQuota, windowSizeMillis);
-            else if (windowType == WindowType.FIXED)
-                return new FixedWindowRateLimiter(maxQuota, windowSizeMillis);
-        }
+    /**
+     * Windows with constant state are combined with the delay in a single object.
+     */
+    private Supplier<ClockDependentRateLimiter> tryCreateFusedRateLimiterFactory() {
+        long delayNanos = this.delayNanos;
+        long windowSizeNanos = this.windowSizeNanos;
+        int maxQuota = this.maxQuota;
+
+        if (delayNanos == 0 || windowSizeNanos == 0 || maxQuota == 1)
+            return null;
+
+        if (windowType == WindowType.FIXED)
+            return () -> new FixedDelayFixedWindowRateLimiter(delayNanos, maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
+        else if (windowType == WindowType.APPROXIMATE_SLIDING)
+            return () -> new FixedDelayApproximateSlidingWindowRateLimiter(delayNanos, maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
+
+        return null;
+    }
+
+    private Supplier<TokenBucketRateLimiter> createTokenBucketRateLimiterFactory() {
+        int capacity = burstSize > 0 ? burstSize : refillPermits;
+        int refillPermits = this.refillPermits;
+        long refillPeriodNanos = this.refillPeriodNanos;
+
+        return () -> new TokenBucketRateLimiter(capacity, refillPermits, refillPeriodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Supplier<GcraRateLimiter> createGcraRateLimiterFactory() {
+        long emissionIntervalNanos = Math.max(1, refillPeriodNanos / refillPermits);
+        int burstSize = this.burstSize > 0 ? this.burstSize : refillPermits;
+
+        return () -> new GcraRateLimiter(emissionIntervalNanos, TimeUnit.NANOSECONDS, burstSize);
+    }
+
+    private Supplier<FixedDelayRateLimiter> tryCreateFixedDelayRateLimiterFactory() {
+        long windowSizeNanos = this.windowSizeNanos;
+        long delayNanos = this.delayNanos;
+
+        if (windowSizeNanos > 0 && maxQuota == 1)
+            return () -> new FixedDelayRateLimiter(windowSizeNanos, TimeUnit.NANOSECONDS);
+        else if (delayNanos > 0)
+            return () -> new FixedDelayRateLimiter(delayNanos, TimeUnit.NANOSECONDS);
+
+        return null;
+    }
+
+    private Supplier<WindowBasedRateLimiter> tryCreateWindowBasedRateLimiterFactory() {
+        if (windowSizeNanos > 0 && maxQuota > 1)
+            return createWindowBasedRateLimiterFactory(windowType, maxQuota, windowSizeNanos);
 
         return null;
     }
 
-    private RateLimiter tryCombineRateLimiters(
-            FixedDelayRateLimiter fixedDelayRateLimiter,
-            WindowBasedRateLimiter windowBasedRateLimiter
+    private static Supplier<WindowBasedRateLimiter> createWindowBasedRateLimiterFactory(
+            WindowType windowType,
+            int maxQuota,
+            long windowSizeNanos
     ) {
-        if (fixedDelayRateLimiter != null && windowBasedRateLimiter != null)
-            return new FixedDelayWindowBasedRateLimiter(fixedDelayRateLimiter, windowBasedRateLimiter);
-        else if (fixedDelayRateLimiter != null)
-            return fixedDelayRateLimiter;
-        else if (windowBasedRateLimiter != null)
-            return windowBasedRateLimiter;
+        switch (windowType) {
+            case FIXED:
+                return () -> new FixedWindowRateLimiter(maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
+            case APPROXIMATE_SLIDING:
+                return () -> new ApproximateSlidingWindowRateLimiter(maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
+            default:
+                return () -> new SlidingWindowRateLimiter(maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Supplier<CompositeRateLimiter> createCompositeRateLimiterFactory() {
+        List<Supplier<? extends ClockDependentRateLimiter>> rateLimiterFactories = new ArrayList<>();
+
+        Supplier<FixedDelayRateLimiter> fixedDelayRateLimiterFactory = tryCreateFixedDelayRateLimiterFactory();
+        if (fixedDelayRateLimiterFactory != null)
+            rateLimiterFactories.add(fixedDelayRateLimiterFactory);
+
+        Supplier<WindowBasedRateLimiter> windowBasedRateLimiterFactory = tryCreateWindowBasedRateLimiterFactory();
+        if (windowBasedRateLimiterFactory != null)
+            rateLimiterFactories.add(windowBasedRateLimiterFactory);
+
+        for (AdditionalWindow window : additionalWindows) {
+            long windowSizeNanos = window.windowSizeNanos;
+            int maxQuota = window.maxQuota;
+
+            if (maxQuota == 1)
+                rateLimiterFactories.add(() -> new FixedDelayRateLimiter(windowSizeNanos, TimeUnit.NANOSECONDS));
+            else
+                rateLimiterFactories.add(createWindowBasedRateLimiterFactory(windowType, maxQuota, windowSizeNanos));
+        }
+
+        return () -> {
+            ClockDependentRateLimiter[] rateLimiters = new ClockDependentRateLimiter[rateLimiterFactories.size()];
+            for (int i = 0; i < rateLimiters.length; i++)
+                rateLimiters[i] = rateLimiterFactories.get(i).get();
+
+            return new CompositeRateLimiter(rateLimiters);
+        };
+    }
+
+    private Supplier<ClockDependentRateLimiter> tryCombineRateLimiterFactories(
+            Supplier<FixedDelayRateLimiter> fixedDelayRateLimiterFactory,
+            Supplier<WindowBasedRateLimiter> windowBasedRateLimiterFactory
+    ) {
+        if (fixedDelayRateLimiterFactory != null && windowBasedRateLimiterFactory != null)
+            return () -> new FixedDelayWindowBasedRateLimiter(
+                    fixedDelayRateLimiterFactory.get(),
+                    windowBasedRateLimiterFactory.get()
+            );
+        else if (fixedDelayRateLimiterFactory != null)
+            return fixedDelayRateLimiterFactory::get;
+        else if (windowBasedRateLimiterFactory != null)
+            return windowBasedRateLimiterFactory::get;
 
         return null;
     }
@@ -291,10 +655,11 @@ public final class RateLimiterBuilder {
      * @param <K> the type of keys maintained by the map.
      * @param map the map to use for RateLimiter instances. Must not be null.
      * @return a RateLimiterMap instance.
-     * @throws NullPointerException if map is null.
+     * @throws NullPointerException  if map is null.
+     * @throws IllegalStateException if the configuration is invalid, see {@link #build()}.
      */
     public <K> RateLimiterMap<K> buildMap(@NonNull Map<K, RateLimiter> map) {
-        return new RateLimiterMap<>(this, map);
+        return new RateLimiterMap<>(buildFactory(), map);
     }
 
     /**
@@ -311,6 +676,137 @@ public final class RateLimiterBuilder {
         );
     }
 
+    /**
+     * Builds a CompactRateLimiterMap, which keeps the state of all keys in primitive arrays.
+     * 
+     * <p>
+     * A refill rate is limited using the generic cell rate algorithm regardless of the bucket type,
+     * windows are aligned to multiples of the window size.
+     * 
+     * @param <K> the type of keys.
+     * @return a CompactRateLimiterMap instance.
+     * @throws IllegalStateException if neither delay, windowSize nor refill rate is greater than zero,
+     *                               if a refill rate is combined with delay or windows,
+     *                               or if a window other than a fixed window is configured.
+     */
+    public <K> CompactRateLimiterMap<K> buildCompactMap() {
+        return new CompactRateLimiterMap<>(
+                ticker != null ? ticker : NanoTimeClock.INSTANCE,
+                enforceThreadSafety ? Runtime.getRuntime().availableProcessors() * 4 : 1,
+                createCompactRules()
+        );
+    }
+
+    private CompactRateLimiterMap.Rule[] createCompactRules() {
+        if (refillPermits > 0) {
+            if (delayNanos > 0 || windowSizeNanos > 0 || !additionalWindows.isEmpty())
+                throw new IllegalStateException("refill rate cannot be combined with delay or windows");
+
+            return new CompactRateLimiterMap.Rule[] {
+                    CompactRateLimiterMap.Rule.gcra(
+                            Math.max(1, refillPeriodNanos / refillPermits),
+                            TimeUnit.NANOSECONDS,
+                            burstSize > 0 ? burstSize : refillPermits
+                    )
+            };
+        }
+
+        if (delayNanos == 0 && windowSizeNanos == 0 && additionalWindows.isEmpty())
+            throw new IllegalStateException("delay or windowSize must be greater than zero");
+
+        List<CompactRateLimiterMap.Rule> rules = new ArrayList<>(2 + additionalWindows.size());
+
+        if (windowSizeNanos > 0 && maxQuota == 1)
+            rules.add(CompactRateLimiterMap.Rule.fixedDelay(windowSizeNanos, TimeUnit.NANOSECONDS));
+        else if (delayNanos > 0)
+            rules.add(CompactRateLimiterMap.Rule.fixedDelay(delayNanos, TimeUnit.NANOSECONDS));
+
+        if (windowSizeNanos > 0 && maxQuota > 1) {
+            if (windowType != WindowType.FIXED)
+                throw new IllegalStateException("compact map supports fixed windows only");
+
+            rules.add(CompactRateLimiterMap.Rule.fixedWindow(maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS));
+        }
+
+        for (AdditionalWindow window : additionalWindows) {
+            if (window.maxQuota == 1) {
+                rules.add(CompactRateLimiterMap.Rule.fixedDelay(window.windowSizeNanos, TimeUnit.NANOSECONDS));
+                continue;
+            }
+
+            if (windowType != WindowType.FIXED)
+                throw new IllegalStateException("compact map supports fixed windows only");
+
+            rules.add(CompactRateLimiterMap.Rule.fixedWindow(window.maxQuota, window.windowSizeNanos, TimeUnit.NANOSECONDS));
+        }
+
+        return rules.toArray(new CompactRateLimiterMap.Rule[0]);
+    }
+
+    /**
+     * Builds a CountMinSketchRateLimiter, which limits every key to maxQuota requests per window
+     * using a fixed amount of memory regardless of the number of keys.
+     * 
+     * <p>
+     * Windows are aligned to multiples of the window size regardless of the window type.
+     * 
+     * @param <K>     the type of keys.
+     * @param epsilon the maximum overestimation of the used quota of a key, relative to the requests within a window.
+     *                Must be between zero and one.
+     * @param delta   the probability of exceeding the maximum overestimation. Must be between zero and one.
+     * @return a CountMinSketchRateLimiter instance.
+     * @throws IllegalStateException    if windowSize is not greater than zero,
+     *                                  or if a delay, refill rate or additional window is configured.
+     * @throws IllegalArgumentException if epsilon or delta is out of range.
+     */
+    public <K> CountMinSketchRateLimiter<K> buildCountMinSketch(double epsilon, double delta) {
+        if (windowSizeNanos == 0)
+            throw new IllegalStateException("windowSize must be greater than zero");
+        if (delayNanos > 0 || refillPermits > 0 || !additionalWindows.isEmpty())
+            throw new IllegalStateException("count-min sketch cannot be combined with delay, refill rate or additional windows");
+
+        CountMinSketchRateLimiter<K> rateLimiter = new CountMinSketchRateLimiter<>(
+                maxQuota,
+                windowSizeNanos,
+                TimeUnit.NANOSECONDS,
+                epsilon,
+                delta
+        );
+
+        if (ticker != null)
+            rateLimiter.setTicker(ticker);
+
+        return rateLimiter;
+    }
+
+    /**
+     * Builds an AdaptiveRateLimiter, which adapts its quota between minQuota and maxQuota requests per window
+     * to the reported completions.
+     * 
+     * <p>
+     * The limiter starts at maxQuota. It is thread-safe by itself, so it is never wrapped for thread safety.
+     * Pass it to a {@link RateLimitingExecutorService} to report completions of tasks automatically.
+     * 
+     * @param minQuota the lowest quota. Must be between one and maxQuota.
+     * @return an AdaptiveRateLimiter instance.
+     * @throws IllegalStateException    if windowSize is not greater than zero,
+     *                                  or if a delay, refill rate or additional window is configured.
+     * @throws IllegalArgumentException if minQuota is out of range.
+     */
+    public AdaptiveRateLimiter buildAdaptive(int minQuota) {
+        if (windowSizeNanos == 0)
+            throw new IllegalStateException("windowSize must be greater than zero");
+        if (delayNanos > 0 || refillPermits > 0 || !additionalWindows.isEmpty())
+            throw new IllegalStateException("adaptive rate limiter cannot be combined with delay, refill rate or additional windows");
+
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(minQuota, maxQuota, windowSizeNanos, TimeUnit.NANOSECONDS);
+
+        if (ticker != null)
+            rateLimiter.setTicker(ticker);
+
+        return rateLimiter;
+    }
+
     /**
      * Builds a RateLimitingExecutorService using the provided ExecutorService.
      * 
@@ -322,6 +818,86 @@ public final class RateLimiterBuilder {
         return new RateLimitingExecutorService(executorService, build());
     }
 
+    /**
+     * Builds a RateLimitingExecutorService with a bounded queue using the provided ExecutorService.
+     * 
+     * @param executorService the ExecutorService to use. Must not be null.
+     * @param maxQueueSize    the maximum number of queued tasks. Must be greater than zero.
+     * @param rejectionPolicy the policy for tasks submitted to a full queue. Must not be null.
+     * @return a RateLimitingExecutorService instance.
+     * @throws NullPointerException     if executorService or rejectionPolicy is null.
+     * @throws IllegalArgumentException if maxQueueSize is not positive.
+     */
+    public RateLimitingExecutorService buildExecutorService(
+            @NonNull ExecutorService executorService,
+            int maxQueueSize,
+            @NonNull RejectionPolicy rejectionPolicy
+    ) {
+        return buildExecutorService(executorService, maxQueueSize, rejectionPolicy, Duration.ZERO);
+    }
+
+    /**
+     * Builds a RateLimitingExecutorService with a bounded queue and deadline-aware shedding
+     * using the provided ExecutorService.
+     * 
+     * <p>
+     * A task is shed if its predicted wait exceeds the deadline, or if it is still queued when the deadline passes.
+     * 
+     * @param executorService the ExecutorService to use. Must not be null.
+     * @param maxQueueSize    the maximum number of queued tasks. Must be greater than zero.
+     * @param rejectionPolicy the policy for tasks submitted to a full queue. Must not be null.
+     * @param taskDeadline    the deadline of every task, or {@link Duration#ZERO} for no deadline. Must not be null.
+     * @return a RateLimitingExecutorService instance.
+     * @throws NullPointerException     if executorService, rejectionPolicy or taskDeadline is null.
+     * @throws IllegalArgumentException if maxQueueSize is not positive or taskDeadline is negative.
+     */
+    public RateLimitingExecutorService buildExecutorService(
+            @NonNull ExecutorService executorService,
+            int maxQueueSize,
+            @NonNull RejectionPolicy rejectionPolicy,
+            @NonNull Duration taskDeadline
+    ) {
+        return new RateLimitingExecutorService(
+                executorService,
+                build(),
+                maxQueueSize,
+                rejectionPolicy,
+                taskDeadline.toNanos(),
+                TimeUnit.NANOSECONDS
+        );
+    }
+
+    /**
+     * Builds a KeyedRateLimitingExecutorService that shares the rate of this builder fairly between keys.
+     * 
+     * @param <K>                   the type of keys.
+     * @param executorService       the ExecutorService to use. Must not be null.
+     * @param keyRateLimiterBuilder the builder of the rate limiters of the keys, or null if keys are not limited.
+     * @param maxQueueSizePerKey    the maximum number of queued tasks per key. Must be greater than zero.
+     * @return a KeyedRateLimitingExecutorService instance.
+     * @throws NullPointerException     if executorService is null.
+     * @throws IllegalArgumentException if maxQueueSizePerKey is not positive.
+     */
+    public <K> KeyedRateLimitingExecutorService<K> buildKeyedExecutorService(
+            @NonNull ExecutorService executorService,
+            RateLimiterBuilder keyRateLimiterBuilder,
+            int maxQueueSizePerKey
+    ) {
+        return new KeyedRateLimitingExecutorService<>(executorService, build(), keyRateLimiterBuilder, maxQueueSizePerKey);
+    }
+
+    /**
+     * Builds a KeyedRateLimitingExecutorService that shares the rate of this builder fairly between keys.
+     * 
+     * @param <K>             the type of keys.
+     * @param executorService the ExecutorService to use. Must not be null.
+     * @return a KeyedRateLimitingExecutorService instance.
+     * @throws NullPointerException if executorService is null.
+     */
+    public <K> KeyedRateLimitingExecutorService<K> buildKeyedExecutorService(@NonNull ExecutorService executorService) {
+        return new KeyedRateLimitingExecutorService<>(executorService, build());
+    }
+
     /**
      * Builds a RateLimitingExecutorService with a default single-threaded executor.
      * 
@@ -0,0 +1,24 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+/**
+ * Checks the permits passed to the default methods of {@link RateLimiter},
+ * which delegate to the single-permit methods of rate limiters unaware of weighted requests.
+ */
+final class SinglePermit {
+
+    private SinglePermit() {}
+
+    static void check(int permits) {
+        if (permits < 1)
+            throw new IllegalArgumentException("permits must be greater than 0");
+
+        if (permits > 1)
+            throw new IllegalArgumentException("permits must not exceed 1, this rate limiter does not support weighted requests");
+    }
+
+}
@@ -6,16 +6,21 @@
 package me.qamulex.easyratelimiter.impl;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import me.qamulex.easyratelimiter.RateLimiter;
+import me.qamulex.easyratelimiter.util.SharedScheduler;
 
 /**
  * A base implementation of the RateLimiter interface.
  * 
  * <p>
  * Provides common logic for rate limiting, such as blocking until a request
- * is allowed and handling timeouts.
+ * is allowed, handling timeouts and completing asynchronous acquisitions
+ * on the {@link SharedScheduler}. Blocking and asynchronous single-permit
+ * methods delegate to their permit-weighted counterparts, while the
+ * single-permit request methods are left to subclasses.
  * 
  * <p>
  * Designed to be extended by specific rate limiter implementations to
@@ -23,28 +28,149 @@ import me.qamulex.easyratelimiter.RateLimiter;
  */
 public abstract class AbstractRateLimiter implements RateLimiter {
 
+    /**
+     * Validates the number of permits of a request.
+     * 
+     * @param permits the number of permits.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    protected void checkPermits(int permits) {
+        if (permits < 1)
+            throw new IllegalArgumentException("permits must be greater than 0");
+    }
+
+    /**
+     * Returns the estimated time in nanoseconds until a request of the given number of permits is allowed.
+     * 
+     * @param permits the number of permits.
+     * @return the remaining time in nanoseconds, or 0 if the request is currently allowed.
+     */
+    protected long getTimeUntilNextRequestNanos(int permits) {
+        return TimeUnit.MILLISECONDS.toNanos(getTimeUntilNextRequest(permits));
+    }
+
+    /**
+     * Reserves a request of the given number of permits only if it becomes allowed within the given timeout.
+     * 
+     * <p>
+     * The default implementation is not atomic, subclasses should override it.
+     * 
+     * @param permits      the number of permits.
+     * @param timeoutNanos the maximum time to wait in nanoseconds.
+     * @return the time in nanoseconds until the reserved request is allowed,
+     *         or -1 if the request is not allowed within the timeout and nothing was reserved.
+     */
+    protected long tryReserveNanos(int permits, long timeoutNanos) {
+        if (getTimeUntilNextRequestNanos(permits) > timeoutNanos)
+            return -1;
+
+        return TimeUnit.MILLISECONDS.toNanos(reserve(permits));
+    }
+
+    @Override
+    public long reserve() {
+        return reserve(1);
+    }
+
+    /**
+     * Reserves a request of the given number of permits without blocking.
+     * 
+     * <p>
+     * The default implementation does not support reservations, subclasses able to do so should override it.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return the time in milliseconds until the reserved request is allowed, or 0 if it is allowed immediately.
+     * @throws IllegalArgumentException      if permits is less than one or can never be granted at once.
+     * @throws UnsupportedOperationException if this rate limiter does not support reservations.
+     */
+    @Override
+    public long reserve(int permits) {
+        checkPermits(permits);
+        throw new UnsupportedOperationException(getClass().getName() + " does not support reservations");
+    }
+
+    @Override
+    public void release() {
+        release(1);
+    }
+
+    @Override
+    public void release(int permits) {
+        if (permits < 1)
+            throw new IllegalArgumentException("permits must be greater than 0");
+
+        releasePermits(permits);
+    }
+
+    /**
+     * Returns the given number of permits of the latest requests.
+     * 
+     * <p>
+     * The default implementation does not support returning permits, subclasses able to do so should override it.
+     * 
+     * @param permits the number of permits, already checked.
+     * @throws UnsupportedOperationException if this rate limiter does not support returning permits.
+     */
+    protected void releasePermits(int permits) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support returning permits");
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync() {
+        return acquireAsync(1);
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync(int permits) {
+        return SharedScheduler.INSTANCE.completeAfter(tryReserveNanos(permits, Long.MAX_VALUE), null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireAsync(long timeout, TimeUnit unit) {
+        return acquireAsync(1, timeout, unit);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireAsync(int permits, long timeout, TimeUnit unit) {
+        long waitNanos = tryReserveNanos(permits, unit.toNanos(timeout));
+
+        if (waitNanos < 0)
+            return CompletableFuture.completedFuture(false);
+
+        return SharedScheduler.INSTANCE.completeAfter(waitNanos, true);
+    }
+
     @Override
     public void blockUntilRequestAllowed() throws InterruptedException {
-        while (!tryRequest())
-            Thread.sleep(getTimeUntilNextRequest());
+        blockUntilRequestAllowed(1);
+    }
+
+    @Override
+    public void blockUntilRequestAllowed(int permits) throws InterruptedException {
+        while (!tryRequest(permits))
+            TimeUnit.NANOSECONDS.sleep(getTimeUntilNextRequestNanos(permits));
     }
 
     @Override
     public boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) throws InterruptedException {
+        return blockUntilRequestAllowed(1, timeout, unit);
+    }
+
+    @Override
+    public boolean blockUntilRequestAllowed(int permits, long timeout, TimeUnit unit) throws InterruptedException {
         long startTime = System.nanoTime();
         long timeoutNanos = unit.toNanos(timeout);
 
-        while (!tryRequest()) {
+        while (!tryRequest(permits)) {
             long elapsed = System.nanoTime() - startTime;
 
             if (elapsed >= timeoutNanos)
                 return false;
 
-            long remainingNanos = timeoutNanos - elapsed;
-            long remainingMillis = Math.min(getTimeUntilNextRequest(), TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+            long remainingNanos = Math.min(getTimeUntilNextRequestNanos(permits), timeoutNanos - elapsed);
 
-            if (remainingMillis > 0) {
-                Thread.sleep(remainingMillis);
+            if (remainingNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
             } else {
                 return false;
             }
@@ -56,7 +182,7 @@ public abstract class AbstractRateLimiter implements RateLimiter {
     @Override
     public boolean blockUntilRequestAllowed(Duration duration) throws InterruptedException {
         return !(duration.isNegative() || duration.isZero())
-                && blockUntilRequestAllowed(duration.toMillis(), TimeUnit.MILLISECONDS);
+                && blockUntilRequestAllowed(duration.toNanos(), TimeUnit.NANOSECONDS);
     }
 
 }
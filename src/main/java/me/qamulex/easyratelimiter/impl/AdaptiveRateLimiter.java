@@ -0,0 +1,353 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import lombok.NonNull;
+
+/**
+ * A rate limiter whose quota adapts to what the downstream service sustains,
+ * using additive increase and multiplicative decrease (AIMD).
+ *
+ * <p>
+ * The current limit is the number of requests allowed per window on average, enforced like
+ * {@link GcraRateLimiter} with bursts of up to the limit. Every successful completion raises
+ * the limit by one per window's worth of successes, every failure or completion slower than the
+ * latency threshold multiplies it by the backoff ratio, at most once per window so a burst of
+ * failures counts as a single overload. The limit always stays between the minimum and the maximum quota.
+ *
+ * <p>
+ * Completions are reported with {@link #onSuccess(long, TimeUnit)} and {@link #onFailure()},
+ * or automatically by wrapping tasks with {@link #track(Runnable)}. Only failures caused by
+ * overload (timeouts, rejections) should be reported. Tracked tasks tell them apart with the
+ * overload classifier, any other exception completes the task without changing the limit.
+ * Decisions are lock-free, so the limiter is never wrapped for thread safety.
+ */
+public class AdaptiveRateLimiter extends ClockDependentRateLimiter {
+
+    private final int  minQuota;
+    private final int  maxQuota;
+    private final long windowSizeNanos;
+
+    private volatile long                 latencyThresholdNanos = 0;
+    private volatile double               backoffRatio          = 0.9;
+    private volatile Predicate<Throwable> overloadClassifier    = AdaptiveRateLimiter::isTimeoutOrRejection;
+
+    private volatile double limit;
+
+    private final AtomicLong theoreticalArrivalTimeNanos = new AtomicLong(Long.MIN_VALUE);
+
+    private final ReentrantLock limitLock = new ReentrantLock();
+
+    // guarded by limitLock
+    private long nextDecreaseTimeNanos = Long.MIN_VALUE;
+
+    public AdaptiveRateLimiter(int minQuota, int maxQuota, long windowSizeMillis) {
+        this(minQuota, maxQuota, windowSizeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param minQuota   the lowest limit, in requests per window
+     * @param maxQuota   the highest and initial limit, in requests per window
+     * @param windowSize the window size
+     * @param unit       the time unit of the window size
+     */
+    public AdaptiveRateLimiter(int minQuota, int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        if (minQuota <= 0)
+            throw new IllegalArgumentException("minQuota must be greater than 0");
+        if (maxQuota < minQuota)
+            throw new IllegalArgumentException("maxQuota must not be less than minQuota");
+
+        long windowSizeNanos = unit.toNanos(windowSize);
+        if (windowSizeNanos <= 0)
+            throw new IllegalArgumentException("windowSize must be greater than 0");
+
+        this.minQuota = minQuota;
+        this.maxQuota = maxQuota;
+        this.windowSizeNanos = windowSizeNanos;
+        this.limit = maxQuota;
+    }
+
+    public int getMinQuota() {
+        return minQuota;
+    }
+
+    public int getMaxQuota() {
+        return maxQuota;
+    }
+
+    public long getWindowSizeNanos() {
+        return windowSizeNanos;
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the number of requests currently allowed per window.
+     */
+    public double getLimit() {
+        return limit;
+    }
+
+    public long getLatencyThresholdNanos() {
+        return latencyThresholdNanos;
+    }
+
+    /**
+     * Sets the latency above which a successful completion counts as an overload.
+     *
+     * @param latencyThreshold the latency threshold, or 0 to ignore latencies.
+     * @param unit             the time unit of the latency threshold.
+     */
+    public void setLatencyThreshold(long latencyThreshold, @NonNull TimeUnit unit) {
+        if (latencyThreshold < 0)
+            throw new IllegalArgumentException("latencyThreshold must not be negative");
+
+        this.latencyThresholdNanos = unit.toNanos(latencyThreshold);
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * Sets the factor the limit is multiplied by on overload.
+     *
+     * @param backoffRatio the backoff ratio, between zero and one.
+     */
+    public void setBackoffRatio(double backoffRatio) {
+        if (!(backoffRatio > 0 && backoffRatio < 1))
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+
+        this.backoffRatio = backoffRatio;
+    }
+
+    public Predicate<Throwable> getOverloadClassifier() {
+        return overloadClassifier;
+    }
+
+    /**
+     * Sets the predicate telling which exceptions of tracked tasks are caused by overload.
+     * By default, timeouts and rejections are, anywhere in the chain of causes.
+     *
+     * @param overloadClassifier the overload classifier.
+     */
+    public void setOverloadClassifier(@NonNull Predicate<Throwable> overloadClassifier) {
+        this.overloadClassifier = overloadClassifier;
+    }
+
+    /**
+     * Checks if the exception or one of its causes is a timeout or a rejection.
+     */
+    private static boolean isTimeoutOrRejection(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof RejectedExecutionException)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reports a successful completion, which raises the limit.
+     */
+    public void onSuccess() {
+        limitLock.lock();
+        try {
+            limit = Math.min(maxQuota, limit + 1 / limit);
+        } finally {
+            limitLock.unlock();
+        }
+    }
+
+    /**
+     * Reports a successful completion, which lowers the limit if it was slower than the latency threshold
+     * and raises it otherwise.
+     *
+     * @param latency the time the request took.
+     * @param unit    the time unit of the latency.
+     */
+    public void onSuccess(long latency, @NonNull TimeUnit unit) {
+        long latencyThresholdNanos = this.latencyThresholdNanos;
+
+        if (latencyThresholdNanos > 0 && unit.toNanos(latency) > latencyThresholdNanos)
+            onFailure();
+        else
+            onSuccess();
+    }
+
+    /**
+     * Reports a completion that failed because of overload, which lowers the limit
+     * unless it has already been lowered within the last window.
+     */
+    public void onFailure() {
+        long now = currentTimeNanos();
+
+        limitLock.lock();
+        try {
+            if (now < nextDecreaseTimeNanos)
+                return;
+
+            limit = Math.max(minQuota, limit * backoffRatio);
+            nextDecreaseTimeNanos = now + windowSizeNanos;
+        } finally {
+            limitLock.unlock();
+        }
+    }
+
+    /**
+     * Wraps a task so that its completion and latency are reported to this rate limiter.
+     * A task that throws, or a future that completes exceptionally, is reported as a failure
+     * if the overload classifier accepts the exception. Other exceptions are neither a success nor a failure.
+     *
+     * @param task the task.
+     * @return the reporting task.
+     */
+    public Runnable track(@NonNull Runnable task) {
+        return () -> {
+            long startNanos = System.nanoTime();
+
+            try {
+                task.run();
+            } catch (RuntimeException | Error exception) {
+                onException(exception);
+                throw exception;
+            }
+
+            Throwable exception = task instanceof Future ? getException((Future<?>) task) : null;
+
+            if (exception != null)
+                onException(exception);
+            else
+                onSuccess(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        };
+    }
+
+    private void onException(Throwable exception) {
+        if (overloadClassifier.test(exception))
+            onFailure();
+    }
+
+    /**
+     * Returns the exception a completed future has failed with, or null if it has not failed.
+     */
+    private static Throwable getException(Future<?> future) {
+        if (!future.isDone())
+            return null;
+
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException exception) {
+            return exception.getCause() != null ? exception.getCause() : exception;
+        } catch (CancellationException | InterruptedException exception) {
+            return null;
+        }
+    }
+
+    private long getEmissionIntervalNanos(double limit) {
+        return Math.max(1, (long) (windowSizeNanos / limit));
+    }
+
+    private long getToleranceNanos(double limit, long emissionIntervalNanos, int permits) {
+        return (Math.max(minQuota, (int) limit) - permits) * emissionIntervalNanos;
+    }
+
+    @Override
+    protected void checkPermits(int permits) {
+        super.checkPermits(permits);
+
+        if (permits > minQuota)
+            throw new IllegalArgumentException("permits must not exceed minQuota");
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        double limit = this.limit;
+        long emissionIntervalNanos = getEmissionIntervalNanos(limit);
+
+        long tat = Math.max(theoreticalArrivalTimeNanos.get(), timeNanos);
+        return Math.max(0, tat - timeNanos - getToleranceNanos(limit, emissionIntervalNanos, permits));
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return getTimeUntilNextRequestNanos(timeNanos, permits) == 0;
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return theoreticalArrivalTimeNanos.get() <= timeNanos;
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        tryReserveNanos(timeNanos, permits, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        double limit = this.limit;
+        long emissionIntervalNanos = getEmissionIntervalNanos(limit);
+        long toleranceNanos = getToleranceNanos(limit, emissionIntervalNanos, permits);
+        long incrementNanos = permits * emissionIntervalNanos;
+
+        while (true) {
+            long current = theoreticalArrivalTimeNanos.get();
+            long tat = Math.max(current, timeNanos);
+            long waitNanos = Math.max(0, tat - timeNanos - toleranceNanos);
+
+            if (waitNanos > timeoutNanos)
+                return -1;
+
+            if (theoreticalArrivalTimeNanos.compareAndSet(current, tat + incrementNanos))
+                return waitNanos;
+        }
+    }
+
+    @Override
+    protected void releasePermits(int permits) {
+        // saturates at the reset state instead of overflowing
+        theoreticalArrivalTimeNanos.accumulateAndGet(
+                permits * getEmissionIntervalNanos(limit),
+                (tat, decrementNanos) -> Math.max(Long.MIN_VALUE + decrementNanos, tat) - decrementNanos
+        );
+    }
+
+    /**
+     * Resets the state of requests, the learned limit is kept.
+     */
+    @Override
+    public void reset() {
+        theoreticalArrivalTimeNanos.set(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "AdaptiveRateLimiter [minQuota=%d, maxQuota=%d, windowSizeNanos=%d, limit=%.2f, timeUntilNextRequest=%d]",
+
+                minQuota,
+                maxQuota,
+                windowSizeNanos,
+                limit,
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.util.WindowType;
+
+/**
+ * A rate limiter that approximates a sliding time window using two fixed window counters.
+ * 
+ * <p>
+ * Time is split into windows aligned to multiples of the window size. The quota used over
+ * the last window size is estimated as the count of the current window plus the count of the
+ * previous window weighted by how much of it still overlaps the sliding window.
+ * Memory usage is constant regardless of the maximum quota.
+ * 
+ * <p>
+ * Error bounds:
+ * <ul>
+ * <li>at most {@code maxQuota} requests are allowed within a single aligned window.</li>
+ * <li>fewer than {@code 2 * maxQuota} requests are allowed within any sliding window of
+ * the window size; the worst case needs all requests of the previous window
+ * to be concentrated at its very end.</li>
+ * <li>if requests of the previous window were spread evenly, the estimate is exact.</li>
+ * </ul>
+ */
+public class ApproximateSlidingWindowRateLimiter extends WindowBasedRateLimiter {
+
+    private long currentWindowIndex = Long.MIN_VALUE;
+    private int  currentQuota       = 0;
+    private int  previousQuota      = 0;
+
+    public ApproximateSlidingWindowRateLimiter(int maxQuota, long windowSizeMillis) {
+        super(maxQuota, windowSizeMillis);
+    }
+
+    public ApproximateSlidingWindowRateLimiter(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        super(maxQuota, windowSize, unit);
+    }
+
+    @Override
+    public WindowType getWindowType() {
+        return WindowType.APPROXIMATE_SLIDING;
+    }
+
+    @Override
+    public void setWindowSizeNanos(long windowSizeNanos) {
+        super.setWindowSizeNanos(windowSizeNanos);
+
+        reset();
+    }
+
+    private long getWindowIndex(long timeNanos) {
+        return Math.floorDiv(timeNanos, getWindowSizeNanos());
+    }
+
+    private int getCurrentQuota(long windowIndex) {
+        return windowIndex == currentWindowIndex ? currentQuota : 0;
+    }
+
+    private int getPreviousQuota(long windowIndex) {
+        if (windowIndex == currentWindowIndex)
+            return previousQuota;
+        else if (windowIndex == currentWindowIndex + 1)
+            return currentQuota;
+
+        return 0;
+    }
+
+    private double getEstimatedUsedQuota(long timeNanos) {
+        long windowIndex = getWindowIndex(timeNanos);
+        long windowSizeNanos = getWindowSizeNanos();
+        long elapsedNanos = timeNanos - windowIndex * windowSizeNanos;
+
+        return getPreviousQuota(windowIndex) * (double) (windowSizeNanos - elapsedNanos) / windowSizeNanos
+                + getCurrentQuota(windowIndex);
+    }
+
+    /**
+     * Returns the estimated number of requests made within the last window size.
+     * 
+     * @return the estimated used quota.
+     */
+    public double getEstimatedUsedQuota() {
+        return getEstimatedUsedQuota(currentTimeNanos());
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        return getWindowTimeUntilNextRequestNanos(timeNanos, permits);
+    }
+
+    // kept apart from the overridable methods, so subclasses adding conditions cannot distort the calculation
+    private long getWindowTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        long windowIndex = getWindowIndex(timeNanos);
+        long windowSizeNanos = getWindowSizeNanos();
+
+        // a reservation has already moved on to a later window, wait for it to start
+        if (windowIndex < currentWindowIndex) {
+            long currentWindowTimeNanos = currentWindowIndex * windowSizeNanos;
+            return currentWindowTimeNanos - timeNanos + getWindowTimeUntilNextRequestNanos(currentWindowTimeNanos, permits);
+        }
+
+        if (isWindowRequestAllowed(timeNanos, permits))
+            return 0;
+
+        long elapsedNanos = timeNanos - windowIndex * windowSizeNanos;
+
+        int maxQuota = getMaxQuota();
+        int currentQuota = getCurrentQuota(windowIndex);
+        int previousQuota = getPreviousQuota(windowIndex);
+
+        // wait for the previous window to slide out far enough within the current window
+        if (currentQuota + permits <= maxQuota)
+            return getElapsedNanosWhenAllowed(previousQuota, maxQuota - currentQuota - permits + 1) - elapsedNanos;
+
+        // wait for the next window, where the current window becomes the previous one
+        return windowSizeNanos - elapsedNanos + getElapsedNanosWhenAllowed(currentQuota, maxQuota - permits + 1);
+    }
+
+    private long getElapsedNanosWhenAllowed(int previousQuota, int remainingQuota) {
+        long windowSizeNanos = getWindowSizeNanos();
+        double threshold = windowSizeNanos - (double) remainingQuota * windowSizeNanos / previousQuota;
+        return Math.min(windowSizeNanos, (long) Math.floor(threshold) + 1);
+    }
+
+    /**
+     * A request of {@code n} permits is allowed if the estimate stays below the maximum quota
+     * before its last permit is counted, which matches the single permit case.
+     */
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return isWindowRequestAllowed(timeNanos, permits);
+    }
+
+    private boolean isWindowRequestAllowed(long timeNanos, int permits) {
+        return getWindowIndex(timeNanos) >= currentWindowIndex
+                && getEstimatedUsedQuota(timeNanos) + permits - 1 < getMaxQuota();
+    }
+
+    /**
+     * Both the previous and the current window are empty as seen from the given time.
+     */
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        long windowIndex = getWindowIndex(timeNanos);
+        return windowIndex >= currentWindowIndex
+                && getCurrentQuota(windowIndex) == 0
+                && getPreviousQuota(windowIndex) == 0;
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        long windowIndex = getWindowIndex(timeNanos);
+        if (windowIndex != currentWindowIndex) {
+            previousQuota = getPreviousQuota(windowIndex);
+            currentQuota = 0;
+            currentWindowIndex = windowIndex;
+        }
+
+        currentQuota += permits;
+    }
+
+    /**
+     * Returns the permits to the current window, which holds the latest requests.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        currentQuota = Math.max(0, currentQuota - permits);
+    }
+
+    @Override
+    public void reset() {
+        currentWindowIndex = Long.MIN_VALUE;
+        currentQuota = 0;
+        previousQuota = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ApproximateSlidingWindowRateLimiter [maxQuota=%d, windowSizeNanos=%d, estimatedUsedQuota=%.2f, timeUntilNextRequest=%d]",
+
+                getMaxQuota(),
+                getWindowSizeNanos(),
+                getEstimatedUsedQuota(),
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
@@ -6,48 +6,233 @@
 package me.qamulex.easyratelimiter.impl;
 
 import java.time.Clock;
+import java.util.concurrent.TimeUnit;
 
 import lombok.NonNull;
+import me.qamulex.easyratelimiter.util.ClockTicker;
 import me.qamulex.easyratelimiter.util.NanoTimeClock;
+import me.qamulex.easyratelimiter.util.Ticker;
 
 /**
- * An abstract rate limiter that relies on a Clock instance for time-based calculations.
+ * An abstract rate limiter that relies on a Ticker instance for time-based calculations.
  * 
  * <p>
- * Subclasses can use the provided clock to control the timing of requests
- * and customize rate-limiting logic.
+ * Subclasses can use the provided ticker to control the timing of requests
+ * and customize rate-limiting logic. All calculations are done in nanoseconds,
+ * and every decision reads the ticker exactly once.
+ * 
+ * <p>
+ * Reservations commit a request at the future time it becomes allowed.
+ * Requests made before the latest committed time are queued behind it.
  * 
  * <p>
  * Allows easy integration of custom time sources for testing or special scenarios.
+ * A {@link Clock} can still be used through {@link #setClock(Clock)}.
  */
 public abstract class ClockDependentRateLimiter extends AbstractRateLimiter {
 
-    private Clock clock = NanoTimeClock.INSTANCE;
+    private Ticker ticker = NanoTimeClock.INSTANCE;
+
+    public Ticker getTicker() {
+        return ticker;
+    }
 
+    public void setTicker(@NonNull Ticker ticker) {
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the clock backing the ticker.
+     * 
+     * @return the clock, or {@code null} if the ticker is not backed by a clock.
+     */
     public Clock getClock() {
-        return clock;
+        if (ticker instanceof Clock)
+            return (Clock) ticker;
+        else if (ticker instanceof ClockTicker)
+            return ((ClockTicker) ticker).getClock();
+
+        return null;
     }
 
+    public void setClock(@NonNull Clock clock) {
+        setTicker(clock instanceof Ticker ? (Ticker) clock : new ClockTicker(clock));
+    }
+
+    protected long currentTimeNanos() {
+        return ticker.read();
+    }
+
+    /**
+     * Returns the current time of the ticker in milliseconds, for subclasses keeping their state in milliseconds.
+     * 
+     * @return the current time in milliseconds.
+     */
     protected long currentTimeMillis() {
-        return clock.millis();
+        return TimeUnit.NANOSECONDS.toMillis(currentTimeNanos());
     }
 
-    public void setClock(@NonNull Clock clock) {
-        this.clock = clock;
+    protected static long toMillisRoundingUp(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
     }
 
     @Override
     public long getTimeUntilNextRequest() {
-        return getTimeUntilNextRequest(currentTimeMillis());
+        return getTimeUntilNextRequest(1);
     }
 
-    protected abstract long getTimeUntilNextRequest(long timeMillis);
+    /**
+     * Returns the estimated time in milliseconds until a request of the given number of permits is allowed,
+     * rounded up to the nearest millisecond.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return the remaining time in milliseconds, or 0 if the request is currently allowed.
+     */
+    @Override
+    public long getTimeUntilNextRequest(int permits) {
+        return toMillisRoundingUp(getTimeUntilNextRequestNanos(permits));
+    }
+
+    public long getTimeUntilNextRequestNanos() {
+        return getTimeUntilNextRequestNanos(1);
+    }
+
+    @Override
+    public long getTimeUntilNextRequestNanos(int permits) {
+        checkPermits(permits);
+        return getTimeUntilNextRequestNanos(currentTimeNanos(), permits);
+    }
+
+    protected abstract long getTimeUntilNextRequestNanos(long timeNanos, int permits);
 
     @Override
     public boolean isRequestAllowed() {
-        return isRequestAllowed(currentTimeMillis());
+        return isRequestAllowed(1);
+    }
+
+    @Override
+    public boolean isRequestAllowed(int permits) {
+        checkPermits(permits);
+        return isRequestAllowed(currentTimeNanos(), permits);
     }
 
-    protected abstract boolean isRequestAllowed(long timeMillis);
+    protected abstract boolean isRequestAllowed(long timeNanos, int permits);
+
+    @Override
+    public boolean tryRequest() {
+        return tryRequest(1);
+    }
+
+    @Override
+    public boolean tryRequest(int permits) {
+        return tryReserveNanos(permits, 0) == 0;
+    }
+
+    /**
+     * Reserves a request of the given number of permits, rounding the wait up to the nearest millisecond.
+     * 
+     * @see #reserveNanos(int)
+     */
+    @Override
+    public long reserve(int permits) {
+        return toMillisRoundingUp(reserveNanos(permits));
+    }
+
+    public long reserveNanos() {
+        return reserveNanos(1);
+    }
+
+    /**
+     * Reserves a request of the given number of permits without blocking.
+     * 
+     * @param permits the number of permits. Must be greater than zero.
+     * @return the time in nanoseconds until the reserved request is allowed, or 0 if it is allowed immediately.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    public long reserveNanos(int permits) {
+        return tryReserveNanos(permits, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reserves a request of the given number of permits only if it becomes allowed within the given timeout.
+     * 
+     * <p>
+     * {@link #tryRequest(int)} and {@link #reserveNanos(int)} are built on top of it.
+     * 
+     * @param permits      the number of permits. Must be greater than zero.
+     * @param timeoutNanos the maximum time to wait in nanoseconds.
+     * @return the time in nanoseconds until the reserved request is allowed,
+     *         or -1 if the request is not allowed within the timeout and nothing was reserved.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    @Override
+    public long tryReserveNanos(int permits, long timeoutNanos) {
+        checkPermits(permits);
+        return tryReserveNanos(currentTimeNanos(), permits, timeoutNanos);
+    }
+
+    /**
+     * Reserves a request of the given number of permits at the given time only if it becomes allowed within the timeout.
+     * 
+     * <p>
+     * Lock-free subclasses override this method to claim the slot atomically.
+     * 
+     * @param timeNanos    the time of the request in nanoseconds.
+     * @param permits      the number of permits, already checked.
+     * @param timeoutNanos the maximum time to wait in nanoseconds.
+     * @return the time in nanoseconds until the reserved request is allowed,
+     *         or -1 if the request is not allowed within the timeout and nothing was reserved.
+     */
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        long waitNanos = getTimeUntilNextRequestNanos(timeNanos, permits);
+
+        if (waitNanos > timeoutNanos)
+            return -1;
+
+        acquire(timeNanos + waitNanos, permits);
+        return waitNanos;
+    }
+
+    /**
+     * Attempts to perform a request of the given number of permits as if it was made at the given time,
+     * so a batch of requests can share a single reading of the ticker.
+     * 
+     * <p>
+     * A time before a request that has already been performed is never allowed more than the current time would be.
+     * 
+     * @param timeNanos the time of the request in nanoseconds, as read from the ticker of this rate limiter.
+     * @param permits   the number of permits. Must be greater than zero.
+     * @return true if the request was allowed and performed, false otherwise.
+     * @throws IllegalArgumentException if permits is less than one or can never be granted at once.
+     */
+    public boolean tryRequestAt(long timeNanos, int permits) {
+        checkPermits(permits);
+        return tryReserveNanos(timeNanos, permits, 0) == 0;
+    }
+
+    @Override
+    public boolean isIdle() {
+        return isIdle(currentTimeNanos());
+    }
+
+    /**
+     * Checks if the state at the given time is indistinguishable from the reset state.
+     * 
+     * @param timeNanos the time in nanoseconds.
+     * @return true if the limiter is idle at that time, false otherwise.
+     */
+    protected abstract boolean isIdle(long timeNanos);
+
+    /**
+     * Updates the state as if a request of the given number of permits was performed at the given time.
+     * 
+     * <p>
+     * Callers must make sure the request is allowed at that time.
+     * The time may lie in the future when the request is reserved.
+     * 
+     * @param timeNanos the time of the request in nanoseconds.
+     * @param permits   the number of permits.
+     */
+    protected abstract void acquire(long timeNanos, int permits);
 
 }
@@ -0,0 +1,143 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.util.Ticker;
+
+/**
+ * A composite rate limiter that combines any number of rate limiters,
+ * such as 10 requests per second, 1000 per hour and 10000 per day.
+ *
+ * <p>
+ * Requests are allowed only if all rate limiters allow them. Every decision reads the ticker once
+ * and evaluates all rate limiters at that time. A request is committed to all rate limiters or to none.
+ *
+ * <p>
+ * The rate limiters are owned by the composite and must not be used on their own,
+ * otherwise their states may diverge.
+ */
+public class CompositeRateLimiter extends ClockDependentRateLimiter {
+
+    private final ClockDependentRateLimiter[] rateLimiters;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public CompositeRateLimiter(@NonNull ClockDependentRateLimiter... rateLimiters) {
+        if (rateLimiters.length == 0)
+            throw new IllegalArgumentException("rateLimiters must not be empty");
+
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters) {
+            if (rateLimiter == null)
+                throw new NullPointerException("rateLimiters must not contain null");
+        }
+
+        this.rateLimiters = rateLimiters.clone();
+    }
+
+    public CompositeRateLimiter(@NonNull List<? extends ClockDependentRateLimiter> rateLimiters) {
+        this(rateLimiters.toArray(new ClockDependentRateLimiter[0]));
+    }
+
+    public List<ClockDependentRateLimiter> getRateLimiters() {
+        return Collections.unmodifiableList(Arrays.asList(rateLimiters));
+    }
+
+    @Override
+    public void setTicker(@NonNull Ticker ticker) {
+        super.setTicker(ticker);
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters)
+            rateLimiter.setTicker(ticker);
+    }
+
+    @Override
+    protected void checkPermits(int permits) {
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters)
+            rateLimiter.checkPermits(permits);
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        long waitNanos = 0;
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters)
+            waitNanos = Math.max(waitNanos, rateLimiter.getTimeUntilNextRequestNanos(timeNanos, permits));
+
+        return waitNanos;
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters) {
+            if (!rateLimiter.isRequestAllowed(timeNanos, permits))
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters) {
+            if (!rateLimiter.isIdle(timeNanos))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the time all rate limiters allow the request and commits it to all of them under a lock,
+     * so the combination is never partially applied.
+     */
+    @Override
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        lock.lock();
+        try {
+            return super.tryReserveNanos(timeNanos, permits, timeoutNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        for (ClockDependentRateLimiter rateLimiter : rateLimiters)
+            rateLimiter.acquire(timeNanos, permits);
+    }
+
+    @Override
+    protected void releasePermits(int permits) {
+        lock.lock();
+        try {
+            for (ClockDependentRateLimiter rateLimiter : rateLimiters)
+                rateLimiter.releasePermits(permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            for (ClockDependentRateLimiter rateLimiter : rateLimiters)
+                rateLimiter.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompositeRateLimiter " + Arrays.toString(rateLimiters);
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+
+/**
+ * A thread-safe rate limiter that enforces a fixed delay between requests.
+ *
+ * <p>
+ * Behaves like {@link FixedDelayRateLimiter}, but keeps the next allowed request
+ * time in an atomic field and grants requests with a compare-and-set loop,
+ * so it can be shared between threads without external synchronization.
+ *
+ * <p>
+ * Read operations never block.
+ */
+public class ConcurrentFixedDelayRateLimiter extends ClockDependentRateLimiter {
+
+    private volatile long delayNanos;
+
+    private final AtomicLong nextRequestTimeNanos = new AtomicLong(0);
+
+    public ConcurrentFixedDelayRateLimiter(long delayMillis) {
+        this(delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public ConcurrentFixedDelayRateLimiter(long delay, @NonNull TimeUnit unit) {
+        setDelayNanos(unit.toNanos(delay));
+    }
+
+    public long getDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        setDelayNanos(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+
+    public long getDelayNanos() {
+        return delayNanos;
+    }
+
+    public void setDelayNanos(long delayNanos) {
+        if (delayNanos <= 0)
+            throw new IllegalArgumentException("delay must be greater than 0");
+
+        this.delayNanos = delayNanos;
+        reset();
+    }
+
+    public long getNextRequestTimeNanos() {
+        return nextRequestTimeNanos.get();
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        return Math.max(0, nextRequestTimeNanos.get() - timeNanos);
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return timeNanos >= nextRequestTimeNanos.get();
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return timeNanos >= nextRequestTimeNanos.get();
+    }
+
+    @Override
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        while (true) {
+            long next = nextRequestTimeNanos.get();
+            long waitNanos = Math.max(0, next - timeNanos);
+
+            if (waitNanos > timeoutNanos)
+                return -1;
+
+            if (nextRequestTimeNanos.compareAndSet(next, timeNanos + waitNanos + permits * delayNanos))
+                return waitNanos;
+        }
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        nextRequestTimeNanos.accumulateAndGet(timeNanos + permits * delayNanos, Math::max);
+    }
+
+    /**
+     * Moves the next request back by one delay per permit.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        nextRequestTimeNanos.addAndGet(-permits * delayNanos);
+    }
+
+    @Override
+    public void reset() {
+        nextRequestTimeNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ConcurrentFixedDelayRateLimiter [delayNanos=%d, nextRequestTimeNanos=%d, timeUntilNextRequest=%d]",
+
+                delayNanos,
+                nextRequestTimeNanos.get(),
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.util.WindowType;
+
+/**
+ * A thread-safe rate limiter that allows a fixed number of requests within a predefined time window.
+ *
+ * <p>
+ * The window index and the used quota are packed into a single atomic word,
+ * so rolling over to a new window and counting a request is one compare-and-set.
+ * The upper 32 bits hold the low bits of the window index, the lower 32 bits hold the used quota.
+ * The full index is restored from the index of the latest window, which is published before every roll over,
+ * so windows are compared without overflow however long the ticker has been running or the limiter has been idle.
+ * A state without used quota holds no window at all.
+ *
+ * <p>
+ * Unlike {@link FixedWindowRateLimiter}, windows are aligned to multiples of
+ * the window size rather than started by the first request.
+ */
+public class ConcurrentFixedWindowRateLimiter extends WindowBasedRateLimiter {
+
+    private final AtomicLong state = new AtomicLong(0);
+
+    private volatile long latestWindowIndex = 0;
+
+    public ConcurrentFixedWindowRateLimiter(int maxQuota, long windowSizeMillis) {
+        super(maxQuota, windowSizeMillis);
+    }
+
+    public ConcurrentFixedWindowRateLimiter(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        super(maxQuota, windowSize, unit);
+    }
+
+    private static long pack(long windowIndex, int usedQuota) {
+        return (windowIndex << 32) | (usedQuota & 0xFFFFFFFFL);
+    }
+
+    private static int unpackWindowIndex(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int unpackUsedQuota(long state) {
+        return (int) state;
+    }
+
+    @Override
+    public WindowType getWindowType() {
+        return WindowType.FIXED;
+    }
+
+    @Override
+    public void setMaxQuota(int maxQuota) {
+        super.setMaxQuota(maxQuota);
+
+        // called from the super constructor before the state is initialized
+        if (state != null)
+            reset();
+    }
+
+    @Override
+    public void setWindowSizeNanos(long windowSizeNanos) {
+        super.setWindowSizeNanos(windowSizeNanos);
+
+        // called from the super constructor before the state is initialized
+        if (state != null)
+            reset();
+    }
+
+    private long getWindowIndex(long timeNanos) {
+        return Math.floorDiv(timeNanos, getWindowSizeNanos());
+    }
+
+    /**
+     * Restores the full index of the window of the state, which is at most a few windows
+     * away from the latest window index, or returns {@link Long#MIN_VALUE} if the state holds no window.
+     */
+    private long getStateWindowIndex(long state) {
+        if (unpackUsedQuota(state) == 0)
+            return Long.MIN_VALUE;
+
+        long latestWindowIndex = this.latestWindowIndex;
+        return latestWindowIndex + (unpackWindowIndex(state) - (int) latestWindowIndex);
+    }
+
+    private int getUsedQuota(long state, long windowIndex) {
+        return getStateWindowIndex(state) == windowIndex ? unpackUsedQuota(state) : 0;
+    }
+
+    public int getUsedQuota() {
+        return getUsedQuota(state.get(), getWindowIndex(currentTimeNanos()));
+    }
+
+    /**
+     * Returns the window a request fits into, which is never before the window of the state.
+     * A newer window may have been started by a reservation or by a thread that read the clock later,
+     * requests are never counted in a window that has already been left.
+     */
+    private long getGrantWindowIndex(long state, long windowIndex, int permits) {
+        long effectiveWindowIndex = Math.max(getStateWindowIndex(state), windowIndex);
+
+        return getUsedQuota(state, effectiveWindowIndex) + permits <= getMaxQuota()
+                ? effectiveWindowIndex
+                : effectiveWindowIndex + 1;
+    }
+
+    private long getTimeUntilWindowNanos(long timeNanos, long windowIndex, long grantWindowIndex) {
+        if (grantWindowIndex == windowIndex)
+            return 0;
+
+        return grantWindowIndex * getWindowSizeNanos() - timeNanos;
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        long windowIndex = getWindowIndex(timeNanos);
+        return getTimeUntilWindowNanos(timeNanos, windowIndex, getGrantWindowIndex(state.get(), windowIndex, permits));
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        long windowIndex = getWindowIndex(timeNanos);
+        return getGrantWindowIndex(state.get(), windowIndex, permits) == windowIndex;
+    }
+
+    /**
+     * Windows are aligned, so a state without requests in the current or a later window is as good as a reset one.
+     */
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return getStateWindowIndex(state.get()) < getWindowIndex(timeNanos);
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        tryReserveNanos(timeNanos, permits, Long.MAX_VALUE);
+    }
+
+    /**
+     * Counts a request in the first window it fits into, unless that window starts after the timeout.
+     */
+    @Override
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        long windowIndex = getWindowIndex(timeNanos);
+
+        while (true) {
+            long current = state.get();
+
+            long grantWindowIndex = getGrantWindowIndex(current, windowIndex, permits);
+            long waitNanos = getTimeUntilWindowNanos(timeNanos, windowIndex, grantWindowIndex);
+
+            if (waitNanos > timeoutNanos)
+                return -1;
+
+            // published before the state, so the state never runs ahead of the index it is restored from
+            if (latestWindowIndex != grantWindowIndex)
+                latestWindowIndex = grantWindowIndex;
+
+            if (state.compareAndSet(current, pack(grantWindowIndex, getUsedQuota(current, grantWindowIndex) + permits)))
+                return waitNanos;
+        }
+    }
+
+    /**
+     * Returns the permits to the latest window, which holds the latest requests.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        while (true) {
+            long current = state.get();
+
+            int usedQuota = unpackUsedQuota(current);
+            if (usedQuota == 0)
+                return;
+
+            if (state.compareAndSet(current, pack(unpackWindowIndex(current), Math.max(0, usedQuota - permits))))
+                return;
+        }
+    }
+
+    @Override
+    public void reset() {
+        state.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ConcurrentFixedWindowRateLimiter [maxQuota=%d, windowSizeNanos=%d, usedQuota=%d, timeUntilNextRequest=%d]",
+
+                getMaxQuota(),
+                getWindowSizeNanos(),
+                getUsedQuota(),
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
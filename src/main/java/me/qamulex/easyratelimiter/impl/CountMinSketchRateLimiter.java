@@ -0,0 +1,291 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.KeyedRateLimiter;
+import me.qamulex.easyratelimiter.util.NanoTimeClock;
+import me.qamulex.easyratelimiter.util.Ticker;
+
+/**
+ * A keyed rate limiter that allows a fixed number of requests per key within windows aligned to
+ * multiples of the window size, counting requests in a count-min sketch instead of per key.
+ * 
+ * <p>
+ * Memory is fixed regardless of the number of keys: the sketch holds {@code depth} rows of
+ * {@code width} counters, sized from the error bounds. Counters are updated conservatively
+ * (only the counters below the new estimate are raised), so the used quota of a key is never
+ * underestimated and overestimated by at most {@code epsilon} times the permits counted within
+ * the window with a probability of at least {@code 1 - delta}. Requests are therefore never
+ * allowed beyond the limit, but a key may be limited early when the window is crowded.
+ * 
+ * <p>
+ * Counters are chosen from {@link Object#hashCode()} mixed with a salt per instance, so keys with different
+ * hash codes share counters by chance that differs between instances. Keys with equal hash codes, however,
+ * share all their counters in every instance and use up each other's quota. Such keys are trivial to find
+ * for strings ({@code "Aa"} and {@code "BB"}), so keys chosen by untrusted clients should be mapped to keys
+ * whose hash codes cannot be chosen, e.g. ids assigned by the application.
+ * Single keys cannot be reset, as their counters are shared with other keys.
+ * 
+ * <p>
+ * All keys share a single lock, and the first request of a window clears all counters while holding it,
+ * so decisions are serialized across keys. Under heavy contention, keys may be spread over several instances.
+ * 
+ * @param <K> the type of keys
+ */
+public class CountMinSketchRateLimiter<K> implements KeyedRateLimiter<K> {
+
+    private final int  maxQuota;
+    private final long windowSizeNanos;
+    private final int  width;
+    private final int  depth;
+    private final long salt = ThreadLocalRandom.current().nextLong();
+
+    private final int[]         counters;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Ticker ticker = NanoTimeClock.INSTANCE;
+
+    // guarded by lock
+    private long currentWindowIndex = Long.MIN_VALUE;
+
+    public CountMinSketchRateLimiter(int maxQuota, long windowSizeMillis, double epsilon, double delta) {
+        this(maxQuota, windowSizeMillis, TimeUnit.MILLISECONDS, epsilon, delta);
+    }
+
+    /**
+     * @param maxQuota   the number of permits per key and window
+     * @param windowSize the window size
+     * @param unit       the time unit of the window size
+     * @param epsilon    the maximum overestimation of the used quota of a key, relative to the permits counted within the window
+     * @param delta      the probability of exceeding the maximum overestimation
+     */
+    public CountMinSketchRateLimiter(int maxQuota, long windowSize, @NonNull TimeUnit unit, double epsilon, double delta) {
+        if (maxQuota <= 0)
+            throw new IllegalArgumentException("maxQuota must be greater than 0");
+
+        long windowSizeNanos = unit.toNanos(windowSize);
+        if (windowSizeNanos <= 0)
+            throw new IllegalArgumentException("windowSize must be greater than 0");
+
+        if (!(epsilon > 0 && epsilon < 1))
+            throw new IllegalArgumentException("epsilon must be between 0 and 1");
+        if (!(delta > 0 && delta < 1))
+            throw new IllegalArgumentException("delta must be between 0 and 1");
+
+        this.maxQuota = maxQuota;
+        this.windowSizeNanos = windowSizeNanos;
+
+        long width = (long) Math.ceil(Math.E / epsilon);
+        long depth = (long) Math.ceil(Math.log(1 / delta));
+        if (width * depth > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("epsilon and delta require too many counters");
+
+        this.width = (int) width;
+        this.depth = (int) depth;
+        this.counters = new int[this.width * this.depth];
+    }
+
+    public int getMaxQuota() {
+        return maxQuota;
+    }
+
+    public long getWindowSizeNanos() {
+        return windowSizeNanos;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(@NonNull Ticker ticker) {
+        this.ticker = ticker;
+    }
+
+    private static long toMillisRoundingUp(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    private void checkPermits(int permits) {
+        if (permits < 1)
+            throw new IllegalArgumentException("permits must be greater than 0");
+
+        if (permits > maxQuota)
+            throw new IllegalArgumentException("permits must not exceed maxQuota");
+    }
+
+    // a function of the hash code only, so keys with equal hash codes collide in every row
+    private long hash(Object key) {
+        long hash = (key.hashCode() ^ salt) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Returns the counter of the key in the given row, rows are derived from the two halves of the hash.
+     */
+    private int getCounterIndex(long hash, int row) {
+        int rowHash = (int) hash + row * ((int) (hash >>> 32) | 1);
+        return row * width + Math.floorMod(rowHash, width);
+    }
+
+    /**
+     * Moves on to the window of the given time, clearing the counters of a finished window.
+     * A time before the current window is counted in the current window.
+     */
+    private void rollWindow(long timeNanos) {
+        long windowIndex = Math.floorDiv(timeNanos, windowSizeNanos);
+
+        if (windowIndex > currentWindowIndex) {
+            Arrays.fill(counters, 0);
+            currentWindowIndex = windowIndex;
+        }
+    }
+
+    private int getEstimatedUsedQuota(long hash) {
+        int estimate = Integer.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++)
+            estimate = Math.min(estimate, counters[getCounterIndex(hash, row)]);
+
+        return estimate;
+    }
+
+    private long getTimeUntilNextWindowNanos(long timeNanos) {
+        return (currentWindowIndex + 1) * windowSizeNanos - timeNanos;
+    }
+
+    /**
+     * Returns the estimated number of permits used by the key within the current window.
+     * The estimate is never lower than the actual number.
+     * 
+     * @param key the key
+     * @return the estimated used quota.
+     */
+    public int getEstimatedUsedQuota(@NonNull K key) {
+        long hash = hash(key);
+
+        lock.lock();
+        try {
+            rollWindow(ticker.read());
+            return getEstimatedUsedQuota(hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(@NonNull K key) {
+        return getTimeUntilNextRequest(key, 1);
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(@NonNull K key, int permits) {
+        checkPermits(permits);
+        long hash = hash(key);
+
+        lock.lock();
+        try {
+            long now = ticker.read();
+            rollWindow(now);
+
+            return getEstimatedUsedQuota(hash) + permits <= maxQuota
+                    ? 0
+                    : toMillisRoundingUp(getTimeUntilNextWindowNanos(now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRequestAllowed(@NonNull K key) {
+        return isRequestAllowed(key, 1);
+    }
+
+    @Override
+    public boolean isRequestAllowed(@NonNull K key, int permits) {
+        return getTimeUntilNextRequest(key, permits) == 0;
+    }
+
+    @Override
+    public boolean tryRequest(@NonNull K key) {
+        return tryRequest(key, 1);
+    }
+
+    @Override
+    public boolean tryRequest(@NonNull K key, int permits) {
+        checkPermits(permits);
+        long hash = hash(key);
+
+        lock.lock();
+        try {
+            rollWindow(ticker.read());
+
+            int estimate = getEstimatedUsedQuota(hash);
+            if (estimate + permits > maxQuota)
+                return false;
+
+            // conservative update: counters already above the new estimate stay untouched
+            int newEstimate = estimate + permits;
+            for (int row = 0; row < depth; row++) {
+                int index = getCounterIndex(hash, row);
+                counters[index] = Math.max(counters[index], newEstimate);
+            }
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Not supported, the counters of a key are shared with other keys.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void reset(@NonNull K key) {
+        throw new UnsupportedOperationException("single keys cannot be reset");
+    }
+
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            Arrays.fill(counters, 0);
+            currentWindowIndex = Long.MIN_VALUE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CountMinSketchRateLimiter [maxQuota=%d, windowSizeNanos=%d, width=%d, depth=%d]",
+
+                maxQuota,
+                windowSizeNanos,
+                width,
+                depth
+        );
+    }
+
+}
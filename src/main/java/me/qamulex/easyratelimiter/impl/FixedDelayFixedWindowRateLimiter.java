@@ -0,0 +1,102 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+/**
+ * A fixed window rate limiter that also enforces a fixed delay between requests.
+ * 
+ * <p>
+ * Behaves like a {@link FixedDelayWindowBasedRateLimiter} combining a {@link FixedDelayRateLimiter}
+ * and a {@link FixedWindowRateLimiter}, but keeps the state of both in a single object.
+ */
+public class FixedDelayFixedWindowRateLimiter extends FixedWindowRateLimiter {
+
+    private final FixedDelayState fixedDelay;
+
+    public FixedDelayFixedWindowRateLimiter(long delayMillis, int maxQuota, long windowSizeMillis) {
+        this(delayMillis, maxQuota, windowSizeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public FixedDelayFixedWindowRateLimiter(long delay, int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        super(maxQuota, windowSize, unit);
+        fixedDelay = new FixedDelayState(unit.toNanos(delay));
+    }
+
+    public long getDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fixedDelay.getDelayNanos());
+    }
+
+    public long getDelayNanos() {
+        return fixedDelay.getDelayNanos();
+    }
+
+    public void setDelayNanos(long delayNanos) {
+        fixedDelay.setDelayNanos(delayNanos);
+    }
+
+    public long getNextRequestTimeNanos() {
+        return fixedDelay.getNextRequestTimeNanos();
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        return Math.max(
+                fixedDelay.getTimeUntilNextRequestNanos(timeNanos),
+                super.getTimeUntilNextRequestNanos(timeNanos, permits)
+        );
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return fixedDelay.isRequestAllowed(timeNanos) && super.isRequestAllowed(timeNanos, permits);
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return fixedDelay.isRequestAllowed(timeNanos) && super.isIdle(timeNanos);
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        super.acquire(timeNanos, permits);
+        fixedDelay.acquire(timeNanos, permits);
+    }
+
+    @Override
+    protected void releasePermits(int permits) {
+        super.releasePermits(permits);
+        fixedDelay.release(permits);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+
+        // called from the super constructor before the delay is initialized
+        if (fixedDelay != null)
+            fixedDelay.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "FixedDelayFixedWindowRateLimiter [delayNanos=%d, maxQuota=%d, windowSizeNanos=%d, usedQuota=%d, nextWindowTimeNanos=%d, nextRequestTimeNanos=%d, timeUntilNextRequest=%d]",
+
+                fixedDelay.getDelayNanos(),
+                getMaxQuota(),
+                getWindowSizeNanos(),
+                getUsedQuota(),
+                getNextWindowTimeNanos(),
+                fixedDelay.getNextRequestTimeNanos(),
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
@@ -5,6 +5,10 @@
  */
 package me.qamulex.easyratelimiter.impl;
 
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
 /**
  * A rate limiter that enforces a fixed delay between requests.
  * 
@@ -17,63 +21,94 @@ package me.qamulex.easyratelimiter.impl;
  */
 public class FixedDelayRateLimiter extends ClockDependentRateLimiter {
 
-    private long delayMillis;
+    private long delayNanos;
 
-    private long nextRequestTimeMillis = 0;
+    private long nextRequestTimeNanos = 0;
 
     public FixedDelayRateLimiter(long delayMillis) {
-        setDelayMillis(delayMillis);
+        this(delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public FixedDelayRateLimiter(long delay, @NonNull TimeUnit unit) {
+        setDelayNanos(unit.toNanos(delay));
     }
 
     public long getDelayMillis() {
-        return delayMillis;
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos);
     }
 
     public void setDelayMillis(long delayMillis) {
-        if (delayMillis <= 0)
-            throw new IllegalArgumentException("delayMillis must be greater than 0");
+        setDelayNanos(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+
+    public long getDelayNanos() {
+        return delayNanos;
+    }
 
-        this.delayMillis = delayMillis;
+    public void setDelayNanos(long delayNanos) {
+        if (delayNanos <= 0)
+            throw new IllegalArgumentException("delay must be greater than 0");
+
+        this.delayNanos = delayNanos;
         reset();
     }
 
+    public long getNextRequestTimeNanos() {
+        return nextRequestTimeNanos;
+    }
+
+    /**
+     * @deprecated the time is kept in nanoseconds of the ticker, use {@link #getNextRequestTimeNanos()} instead.
+     */
+    @Deprecated
     public long getNextRequestTimeMillis() {
-        return nextRequestTimeMillis;
+        return TimeUnit.NANOSECONDS.toMillis(nextRequestTimeNanos);
     }
 
+    /**
+     * Checks only the time of the next request.
+     * A request of {@code n} permits pushes the next request {@code n} delays ahead.
+     */
     @Override
-    protected long getTimeUntilNextRequest(long timeMillis) {
-        return Math.max(0, nextRequestTimeMillis - timeMillis);
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        return Math.max(0, nextRequestTimeNanos - timeNanos);
     }
 
     @Override
-    protected boolean isRequestAllowed(long timeMillis) {
-        return timeMillis >= nextRequestTimeMillis;
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return timeNanos >= nextRequestTimeNanos;
     }
 
     @Override
-    public boolean tryRequest() {
-        long now = currentTimeMillis();
+    protected boolean isIdle(long timeNanos) {
+        return timeNanos >= nextRequestTimeNanos;
+    }
 
-        if (!isRequestAllowed(now))
-            return false;
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        nextRequestTimeNanos = timeNanos + permits * delayNanos;
+    }
 
-        nextRequestTimeMillis = now + delayMillis;
-        return true;
+    /**
+     * Moves the next request back by one delay per permit.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        nextRequestTimeNanos -= permits * delayNanos;
     }
 
     @Override
     public void reset() {
-        nextRequestTimeMillis = 0;
+        nextRequestTimeNanos = 0;
     }
 
     @Override
     public String toString() {
         return String.format(
-                "FixedDelayRateLimiter [delayMillis=%d, nextRequestTimeMillis=%d, timeUntilNextRequest=%d]",
+                "FixedDelayRateLimiter [delayNanos=%d, nextRequestTimeNanos=%d, timeUntilNextRequest=%d]",
 
-                delayMillis,
-                nextRequestTimeMillis,
+                delayNanos,
+                nextRequestTimeNanos,
                 getTimeUntilNextRequest()
         );
     }
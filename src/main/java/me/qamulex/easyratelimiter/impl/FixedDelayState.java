@@ -0,0 +1,65 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+/**
+ * The state of a fixed delay between requests, fused into window based rate limiters
+ * by {@link FixedDelayFixedWindowRateLimiter} and {@link FixedDelayApproximateSlidingWindowRateLimiter}.
+ * 
+ * <p>
+ * A request of {@code n} permits pushes the next request {@code n} delays ahead.
+ * Not thread-safe, guarded like the rate limiter it belongs to.
+ */
+final class FixedDelayState {
+
+    private long delayNanos;
+
+    private long nextRequestTimeNanos;
+
+    FixedDelayState(long delayNanos) {
+        setDelayNanos(delayNanos);
+    }
+
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    void setDelayNanos(long delayNanos) {
+        if (delayNanos <= 0)
+            throw new IllegalArgumentException("delay must be greater than 0");
+
+        this.delayNanos = delayNanos;
+        reset();
+    }
+
+    long getNextRequestTimeNanos() {
+        return nextRequestTimeNanos;
+    }
+
+    /**
+     * Returns the time until the delay has passed, which is not positive once it has.
+     */
+    long getTimeUntilNextRequestNanos(long timeNanos) {
+        return nextRequestTimeNanos - timeNanos;
+    }
+
+    boolean isRequestAllowed(long timeNanos) {
+        return timeNanos >= nextRequestTimeNanos;
+    }
+
+    void acquire(long timeNanos, int permits) {
+        nextRequestTimeNanos = timeNanos + permits * delayNanos;
+    }
+
+    void release(int permits) {
+        nextRequestTimeNanos -= permits * delayNanos;
+    }
+
+    void reset() {
+        nextRequestTimeNanos = 0;
+    }
+
+}
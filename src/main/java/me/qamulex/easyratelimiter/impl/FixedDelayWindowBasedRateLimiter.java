@@ -5,9 +5,10 @@
  */
 package me.qamulex.easyratelimiter.impl;
 
-import java.time.Clock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.NonNull;
+import me.qamulex.easyratelimiter.util.Ticker;
 
 /**
  * A composite rate limiter that combines fixed delay and window-based rate limiting.
@@ -24,6 +25,8 @@ public class FixedDelayWindowBasedRateLimiter extends ClockDependentRateLimiter
     private final FixedDelayRateLimiter  fixedDelayRateLimiter;
     private final WindowBasedRateLimiter windowBasedRateLimiter;
 
+    private final ReentrantLock lock = new ReentrantLock();
+
     public FixedDelayWindowBasedRateLimiter(
             @NonNull FixedDelayRateLimiter fixedDelayRateLimiter,
             @NonNull WindowBasedRateLimiter windowBasedRateLimiter
@@ -41,31 +44,65 @@ public class FixedDelayWindowBasedRateLimiter extends ClockDependentRateLimiter
     }
 
     @Override
-    public void setClock(@NonNull Clock clock) {
-        super.setClock(clock);
-        fixedDelayRateLimiter.setClock(clock);
-        windowBasedRateLimiter.setClock(clock);
+    public void setTicker(@NonNull Ticker ticker) {
+        super.setTicker(ticker);
+        fixedDelayRateLimiter.setTicker(ticker);
+        windowBasedRateLimiter.setTicker(ticker);
+    }
+
+    @Override
+    protected void checkPermits(int permits) {
+        fixedDelayRateLimiter.checkPermits(permits);
+        windowBasedRateLimiter.checkPermits(permits);
     }
 
     @Override
-    protected long getTimeUntilNextRequest(long timeMillis) {
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
         return Math.max(
-                fixedDelayRateLimiter.getTimeUntilNextRequest(timeMillis),
-                windowBasedRateLimiter.getTimeUntilNextRequest(timeMillis)
+                fixedDelayRateLimiter.getTimeUntilNextRequestNanos(timeNanos, permits),
+                windowBasedRateLimiter.getTimeUntilNextRequestNanos(timeNanos, permits)
         );
     }
 
     @Override
-    protected boolean isRequestAllowed(long timeMillis) {
-        return fixedDelayRateLimiter.isRequestAllowed(timeMillis)
-                && windowBasedRateLimiter.isRequestAllowed(timeMillis);
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return fixedDelayRateLimiter.isRequestAllowed(timeNanos, permits)
+                && windowBasedRateLimiter.isRequestAllowed(timeNanos, permits);
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return fixedDelayRateLimiter.isIdle(timeNanos) && windowBasedRateLimiter.isIdle(timeNanos);
+    }
+
+    /**
+     * Checks and updates both rate limiters under a lock, so the combination is never partially applied.
+     */
+    @Override
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        lock.lock();
+        try {
+            return super.tryReserveNanos(timeNanos, permits, timeoutNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        fixedDelayRateLimiter.acquire(timeNanos, permits);
+        windowBasedRateLimiter.acquire(timeNanos, permits);
     }
 
     @Override
-    public synchronized boolean tryRequest() {
-        return isRequestAllowed()
-                && fixedDelayRateLimiter.tryRequest()
-                && windowBasedRateLimiter.tryRequest();
+    protected void releasePermits(int permits) {
+        lock.lock();
+        try {
+            fixedDelayRateLimiter.releasePermits(permits);
+            windowBasedRateLimiter.releasePermits(permits);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
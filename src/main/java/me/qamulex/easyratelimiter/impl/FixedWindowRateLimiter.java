@@ -5,6 +5,9 @@
  */
 package me.qamulex.easyratelimiter.impl;
 
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
 import me.qamulex.easyratelimiter.util.WindowType;
 
 /**
@@ -19,13 +22,17 @@ import me.qamulex.easyratelimiter.util.WindowType;
  */
 public class FixedWindowRateLimiter extends WindowBasedRateLimiter {
 
-    private int  usedQuota            = 0;
-    private long nextWindowTimeMillis = 0;
+    private int  usedQuota           = 0;
+    private long nextWindowTimeNanos = 0;
 
     public FixedWindowRateLimiter(int maxQuota, long windowSizeMillis) {
         super(maxQuota, windowSizeMillis);
     }
 
+    public FixedWindowRateLimiter(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        super(maxQuota, windowSize, unit);
+    }
+
     @Override
     public WindowType getWindowType() {
         return WindowType.FIXED;
@@ -39,64 +46,85 @@ public class FixedWindowRateLimiter extends WindowBasedRateLimiter {
     }
 
     @Override
-    public void setWindowSizeMillis(long windowSizeMillis) {
-        super.setWindowSizeMillis(windowSizeMillis);
+    public void setWindowSizeNanos(long windowSizeNanos) {
+        super.setWindowSizeNanos(windowSizeNanos);
 
-        nextWindowTimeMillis = 0;
+        nextWindowTimeNanos = 0;
     }
 
     public int getUsedQuota() {
         return usedQuota;
     }
 
+    public long getNextWindowTimeNanos() {
+        return nextWindowTimeNanos;
+    }
+
+    /**
+     * @deprecated the time is kept in nanoseconds of the ticker, use {@link #getNextWindowTimeNanos()} instead.
+     */
+    @Deprecated
     public long getNextWindowTimeMillis() {
-        return nextWindowTimeMillis;
+        return TimeUnit.NANOSECONDS.toMillis(nextWindowTimeNanos);
     }
 
     @Override
-    protected long getTimeUntilNextRequest(long timeMillis) {
-        return usedQuota < getMaxQuota()
-                ? 0
-                : Math.max(0, nextWindowTimeMillis - timeMillis);
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        if (nextWindowTimeNanos <= timeNanos)
+            return 0;
+
+        if (usedQuota + permits > getMaxQuota())
+            return nextWindowTimeNanos - timeNanos;
+
+        // the current window may have been started by a reservation in the future
+        return usedQuota > 0
+                ? Math.max(0, nextWindowTimeNanos - getWindowSizeNanos() - timeNanos)
+                : 0;
     }
 
     @Override
-    protected boolean isRequestAllowed(long timeMillis) {
-        return usedQuota < getMaxQuota() || nextWindowTimeMillis <= timeMillis;
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return getTimeUntilNextRequestNanos(timeNanos, permits) == 0;
     }
 
+    /**
+     * The window has ended, so the next request starts a new one.
+     */
     @Override
-    public boolean tryRequest() {
-        long now = currentTimeMillis();
-
-        if (!isRequestAllowed(now))
-            return false;
+    protected boolean isIdle(long timeNanos) {
+        return nextWindowTimeNanos <= timeNanos;
+    }
 
-        if (nextWindowTimeMillis <= now) {
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        if (nextWindowTimeNanos <= timeNanos) {
             usedQuota = 0;
-            nextWindowTimeMillis = now + getWindowSizeMillis();
+            nextWindowTimeNanos = timeNanos + getWindowSizeNanos();
         }
 
-        usedQuota++;
+        usedQuota += permits;
+    }
 
-        return true;
+    @Override
+    protected void releasePermits(int permits) {
+        usedQuota = Math.max(0, usedQuota - permits);
     }
 
     @Override
     public void reset() {
         usedQuota = 0;
-        nextWindowTimeMillis = 0;
+        nextWindowTimeNanos = 0;
     }
 
     @Override
     public String toString() {
         return String.format(
-                "FixedWindowRateLimiter [maxQuota=%d, windowSizeMillis=%d, usedQuota=%d, nextWindowTimeMillis=%d, timeUntilNextRequest=%d]",
+                "FixedWindowRateLimiter [maxQuota=%d, windowSizeNanos=%d, usedQuota=%d, nextWindowTimeNanos=%d, timeUntilNextRequest=%d]",
 
                 getMaxQuota(),
-                getWindowSizeMillis(),
+                getWindowSizeNanos(),
                 usedQuota,
-                nextWindowTimeMillis,
+                nextWindowTimeNanos,
                 getTimeUntilNextRequest()
         );
     }
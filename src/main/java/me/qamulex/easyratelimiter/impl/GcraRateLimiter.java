@@ -0,0 +1,157 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+
+/**
+ * A thread-safe rate limiter that implements the generic cell rate algorithm (GCRA).
+ * 
+ * <p>
+ * Requests are spaced by an emission interval, while up to {@code burstSize} requests
+ * may arrive back to back. The whole state is a single theoretical arrival time (TAT),
+ * which is updated with one compare-and-set.
+ * 
+ * <p>
+ * Equivalent to a token bucket with a capacity of {@code burstSize} that is refilled
+ * with one permit every emission interval.
+ */
+public class GcraRateLimiter extends ClockDependentRateLimiter {
+
+    private volatile long emissionIntervalNanos;
+    private volatile int  burstSize;
+
+    private final AtomicLong theoreticalArrivalTimeNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public GcraRateLimiter(long emissionIntervalMillis, int burstSize) {
+        this(emissionIntervalMillis, TimeUnit.MILLISECONDS, burstSize);
+    }
+
+    public GcraRateLimiter(long emissionInterval, @NonNull TimeUnit unit, int burstSize) {
+        setEmissionIntervalNanos(unit.toNanos(emissionInterval));
+        setBurstSize(burstSize);
+    }
+
+    public long getEmissionIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(emissionIntervalNanos);
+    }
+
+    public long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    public void setEmissionIntervalNanos(long emissionIntervalNanos) {
+        if (emissionIntervalNanos <= 0)
+            throw new IllegalArgumentException("emissionInterval must be greater than 0");
+
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        reset();
+    }
+
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    public void setBurstSize(int burstSize) {
+        if (burstSize <= 0)
+            throw new IllegalArgumentException("burstSize must be greater than 0");
+
+        this.burstSize = burstSize;
+        reset();
+    }
+
+    /**
+     * Returns how far the TAT may lie ahead of the arrival time of a request of the given number of permits.
+     */
+    private long getToleranceNanos(int permits) {
+        return (burstSize - permits) * emissionIntervalNanos;
+    }
+
+    public long getTheoreticalArrivalTimeNanos() {
+        return theoreticalArrivalTimeNanos.get();
+    }
+
+    @Override
+    protected void checkPermits(int permits) {
+        super.checkPermits(permits);
+
+        if (permits > burstSize)
+            throw new IllegalArgumentException("permits must not exceed burstSize");
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        long tat = Math.max(theoreticalArrivalTimeNanos.get(), timeNanos);
+        return Math.max(0, tat - timeNanos - getToleranceNanos(permits));
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        long tat = Math.max(theoreticalArrivalTimeNanos.get(), timeNanos);
+        return tat - timeNanos <= getToleranceNanos(permits);
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return theoreticalArrivalTimeNanos.get() <= timeNanos;
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        tryReserveNanos(timeNanos, permits, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected long tryReserveNanos(long timeNanos, int permits, long timeoutNanos) {
+        long toleranceNanos = getToleranceNanos(permits);
+        long incrementNanos = permits * emissionIntervalNanos;
+
+        while (true) {
+            long current = theoreticalArrivalTimeNanos.get();
+            long tat = Math.max(current, timeNanos);
+            long waitNanos = Math.max(0, tat - timeNanos - toleranceNanos);
+
+            if (waitNanos > timeoutNanos)
+                return -1;
+
+            if (theoreticalArrivalTimeNanos.compareAndSet(current, tat + incrementNanos))
+                return waitNanos;
+        }
+    }
+
+    /**
+     * Moves the theoretical arrival time back by one emission interval per permit.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        // saturates at the reset state instead of overflowing
+        theoreticalArrivalTimeNanos.accumulateAndGet(
+                permits * emissionIntervalNanos,
+                (tat, decrementNanos) -> Math.max(Long.MIN_VALUE + decrementNanos, tat) - decrementNanos
+        );
+    }
+
+    @Override
+    public void reset() {
+        theoreticalArrivalTimeNanos.set(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "GcraRateLimiter [emissionIntervalNanos=%d, burstSize=%d, theoreticalArrivalTimeNanos=%d, timeUntilNextRequest=%d]",
+
+                emissionIntervalNanos,
+                burstSize,
+                theoreticalArrivalTimeNanos.get(),
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
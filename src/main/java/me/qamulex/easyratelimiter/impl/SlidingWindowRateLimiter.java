@@ -5,7 +5,10 @@
  */
 package me.qamulex.easyratelimiter.impl;
 
-import me.qamulex.easyratelimiter.util.CircularBuffer;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.util.LongCircularBuffer;
 import me.qamulex.easyratelimiter.util.WindowType;
 
 /**
@@ -20,14 +23,16 @@ import me.qamulex.easyratelimiter.util.WindowType;
  */
 public class SlidingWindowRateLimiter extends WindowBasedRateLimiter {
 
-    private CircularBuffer<Long> window;
-
-    private long nextPossibleRequestTimeMillis = 0;
+    private LongCircularBuffer window;
 
     public SlidingWindowRateLimiter(int maxQuota, long windowSizeMillis) {
         super(maxQuota, windowSizeMillis);
     }
 
+    public SlidingWindowRateLimiter(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+        super(maxQuota, windowSize, unit);
+    }
+
     @Override
     public WindowType getWindowType() {
         return WindowType.SLIDING;
@@ -37,16 +42,15 @@ public class SlidingWindowRateLimiter extends WindowBasedRateLimiter {
     public void setMaxQuota(int maxQuota) {
         super.setMaxQuota(maxQuota);
 
-        window = new CircularBuffer<>(new Long[maxQuota]);
-        nextPossibleRequestTimeMillis = 0;
+        window = new LongCircularBuffer(maxQuota);
     }
 
     public int getUsedQuota() {
-        long now = currentTimeMillis();
+        long now = currentTimeNanos();
 
         int usedQuota = 0;
-        for (long timestamp : window) {
-            if (timestamp != 0 && now - timestamp <= getWindowSizeMillis())
+        for (int i = 0; i < window.size(); i++) {
+            if (now - window.get(i) <= getWindowSizeNanos())
                 usedQuota++;
         }
 
@@ -54,59 +58,80 @@ public class SlidingWindowRateLimiter extends WindowBasedRateLimiter {
     }
 
     @Override
-    public void setWindowSizeMillis(long windowSizeMillis) {
-        super.setWindowSizeMillis(windowSizeMillis);
+    public void setWindowSizeNanos(long windowSizeNanos) {
+        super.setWindowSizeNanos(windowSizeNanos);
 
         reset();
     }
 
+    public long getNextPossibleRequestTimeNanos() {
+        return getNextPossibleRequestTimeNanos(1);
+    }
+
+    /**
+     * @deprecated the time is kept in nanoseconds of the ticker, use {@link #getNextPossibleRequestTimeNanos()} instead.
+     */
+    @Deprecated
     public long getNextPossibleRequestTimeMillis() {
-        return nextPossibleRequestTimeMillis;
+        return TimeUnit.NANOSECONDS.toMillis(getNextPossibleRequestTimeNanos());
     }
 
-    @Override
-    protected long getTimeUntilNextRequest(long timeMillis) {
-        return Math.max(0, nextPossibleRequestTimeMillis - timeMillis);
+    private long getNextPossibleRequestTimeNanos(int permits) {
+        if (window.isEmpty())
+            return 0;
+
+        // the newest timestamp that has to leave the window to make room for the permits
+        int index = window.size() - (getMaxQuota() - permits) - 1;
+
+        // timestamps must stay ordered, so nothing may be granted before the last (possibly reserved) request
+        return index < 0
+                ? window.getLast()
+                : Math.max(window.getLast(), window.get(index) + getWindowSizeNanos());
     }
 
     @Override
-    protected boolean isRequestAllowed(long timeMillis) {
-        return nextPossibleRequestTimeMillis <= timeMillis;
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        return Math.max(0, getNextPossibleRequestTimeNanos(permits) - timeNanos);
     }
 
     @Override
-    public boolean tryRequest() {
-        long now = currentTimeMillis();
-
-        if (!isRequestAllowed(now))
-            return false;
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return getNextPossibleRequestTimeNanos(permits) <= timeNanos;
+    }
 
-        window.add(now);
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return window.isEmpty() || window.getLast() + getWindowSizeNanos() <= timeNanos;
+    }
 
-        if (window.isFull()) {
-            long oldestTimestamp = window.getFirst();
-            if (oldestTimestamp != 0)
-                nextPossibleRequestTimeMillis = oldestTimestamp + getWindowSizeMillis();
-        }
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        window.add(timeNanos, permits);
+    }
 
-        return true;
+    /**
+     * Removes the timestamps of the latest requests.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        for (int i = 0; i < permits && !window.isEmpty(); i++)
+            window.removeLast();
     }
 
     @Override
     public void reset() {
         window.clear();
-        nextPossibleRequestTimeMillis = 0;
     }
 
     @Override
     public String toString() {
         return String.format(
-                "SlidingWindowRateLimiter [maxQuota=%d, windowSizeMillis=%d, usedQuota=%d, nextPossibleRequestTimeMillis=%d, timeUntilNextRequest=%d]",
+                "SlidingWindowRateLimiter [maxQuota=%d, windowSizeNanos=%d, usedQuota=%d, nextPossibleRequestTimeNanos=%d, timeUntilNextRequest=%d]",
 
                 getMaxQuota(),
-                getWindowSizeMillis(),
+                getWindowSizeNanos(),
                 getUsedQuota(),
-                nextPossibleRequestTimeMillis,
+                getNextPossibleRequestTimeNanos(),
                 getTimeUntilNextRequest()
         );
     }
@@ -0,0 +1,151 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+/**
+ * A rate limiter that implements the token bucket algorithm.
+ * 
+ * <p>
+ * The bucket holds up to {@code capacity} tokens and is refilled with
+ * {@code refillPermits} tokens every refill period. Each request takes one token per permit,
+ * so a sustained rate is enforced while bursts of up to {@code capacity} requests are allowed.
+ * 
+ * <p>
+ * The refill is computed lazily from the elapsed time on every call,
+ * only the token count and the last refill time are stored.
+ */
+public class TokenBucketRateLimiter extends ClockDependentRateLimiter {
+
+    private int  capacity;
+    private int  refillPermits;
+    private long refillPeriodNanos;
+
+    private double tokens;
+    private long   lastRefillTimeNanos;
+
+    public TokenBucketRateLimiter(int capacity, int refillPermits, long refillPeriodMillis) {
+        this(capacity, refillPermits, refillPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public TokenBucketRateLimiter(int capacity, int refillPermits, long refillPeriod, @NonNull TimeUnit unit) {
+        setCapacity(capacity);
+        setRefillRate(refillPermits, refillPeriod, unit);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be greater than 0");
+
+        this.capacity = capacity;
+        reset();
+    }
+
+    public int getRefillPermits() {
+        return refillPermits;
+    }
+
+    public long getRefillPeriodMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(refillPeriodNanos);
+    }
+
+    public long getRefillPeriodNanos() {
+        return refillPeriodNanos;
+    }
+
+    public void setRefillRate(int refillPermits, long refillPeriod, @NonNull TimeUnit unit) {
+        long refillPeriodNanos = unit.toNanos(refillPeriod);
+
+        if (refillPermits <= 0)
+            throw new IllegalArgumentException("refillPermits must be greater than 0");
+        if (refillPeriodNanos <= 0)
+            throw new IllegalArgumentException("refillPeriod must be greater than 0");
+
+        this.refillPermits = refillPermits;
+        this.refillPeriodNanos = refillPeriodNanos;
+        reset();
+    }
+
+    private double getAvailableTokens(long timeNanos) {
+        long elapsedNanos = Math.max(0, timeNanos - lastRefillTimeNanos);
+        return Math.min(capacity, tokens + (double) elapsedNanos * refillPermits / refillPeriodNanos);
+    }
+
+    public double getAvailableTokens() {
+        return getAvailableTokens(currentTimeNanos());
+    }
+
+    @Override
+    protected void checkPermits(int permits) {
+        super.checkPermits(permits);
+
+        if (permits > capacity)
+            throw new IllegalArgumentException("permits must not exceed capacity");
+    }
+
+    @Override
+    protected long getTimeUntilNextRequestNanos(long timeNanos, int permits) {
+        // tokens may have been taken by a reservation in the future
+        long reservedNanos = Math.max(0, lastRefillTimeNanos - timeNanos);
+
+        double missingTokens = permits - getAvailableTokens(timeNanos);
+        if (missingTokens <= 0)
+            return reservedNanos;
+
+        return reservedNanos + (long) Math.ceil(missingTokens * refillPeriodNanos / refillPermits);
+    }
+
+    @Override
+    protected boolean isRequestAllowed(long timeNanos, int permits) {
+        return timeNanos >= lastRefillTimeNanos && getAvailableTokens(timeNanos) >= permits;
+    }
+
+    @Override
+    protected boolean isIdle(long timeNanos) {
+        return timeNanos >= lastRefillTimeNanos && getAvailableTokens(timeNanos) >= capacity;
+    }
+
+    @Override
+    protected void acquire(long timeNanos, int permits) {
+        tokens = getAvailableTokens(timeNanos) - permits;
+        lastRefillTimeNanos = Math.max(lastRefillTimeNanos, timeNanos);
+    }
+
+    /**
+     * Puts the tokens back into the bucket.
+     */
+    @Override
+    protected void releasePermits(int permits) {
+        tokens = Math.min(capacity, tokens + permits);
+    }
+
+    @Override
+    public void reset() {
+        tokens = capacity;
+        lastRefillTimeNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "TokenBucketRateLimiter [capacity=%d, refillPermits=%d, refillPeriodNanos=%d, availableTokens=%.2f, timeUntilNextRequest=%d]",
+
+                capacity,
+                refillPermits,
+                refillPeriodNanos,
+                getAvailableTokens(),
+                getTimeUntilNextRequest()
+        );
+    }
+
+}
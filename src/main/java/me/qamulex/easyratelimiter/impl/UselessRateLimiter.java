@@ -6,6 +6,7 @@
 package me.qamulex.easyratelimiter.impl;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import me.qamulex.easyratelimiter.RateLimiter;
@@ -21,29 +22,93 @@ public class UselessRateLimiter implements RateLimiter {
         return 0;
     }
 
+    @Override
+    public long getTimeUntilNextRequest(int permits) {
+        return 0;
+    }
+
     @Override
     public boolean isRequestAllowed() {
         return true;
     }
 
+    @Override
+    public boolean isRequestAllowed(int permits) {
+        return true;
+    }
+
     @Override
     public boolean tryRequest() {
         return true;
     }
 
+    @Override
+    public boolean tryRequest(int permits) {
+        return true;
+    }
+
+    @Override
+    public long reserve() {
+        return 0;
+    }
+
+    @Override
+    public long reserve(int permits) {
+        return 0;
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync(int permits) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireAsync(long timeout, TimeUnit unit) {
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireAsync(int permits, long timeout, TimeUnit unit) {
+        return CompletableFuture.completedFuture(true);
+    }
+
     @Override
     public void blockUntilRequestAllowed() throws InterruptedException {}
 
+    @Override
+    public void blockUntilRequestAllowed(int permits) throws InterruptedException {}
+
     @Override
     public boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) throws InterruptedException {
         return true;
     }
 
+    @Override
+    public boolean blockUntilRequestAllowed(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        return true;
+    }
+
     @Override
     public boolean blockUntilRequestAllowed(Duration duration) throws InterruptedException {
         return true;
     }
 
+    @Override
+    public boolean isIdle() {
+        return true;
+    }
+
+    @Override
+    public void release() {}
+
+    @Override
+    public void release(int permits) {}
+
     @Override
     public void reset() {}
 
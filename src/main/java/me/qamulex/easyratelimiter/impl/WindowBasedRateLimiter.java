@@ -5,6 +5,9 @@
  */
 package me.qamulex.easyratelimiter.impl;
 
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
 import me.qamulex.easyratelimiter.util.WindowType;
 
 /**
@@ -21,11 +24,15 @@ import me.qamulex.easyratelimiter.util.WindowType;
 public abstract class WindowBasedRateLimiter extends ClockDependentRateLimiter {
 
     private int  maxQuota;
-    private long windowSizeMillis;
+    private long windowSizeNanos;
 
     public WindowBasedRateLimiter(int maxQuota, long windowSizeMillis) {
+        this(maxQuota, windowSizeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public WindowBasedRateLimiter(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
         setMaxQuota(maxQuota);
-        setWindowSizeMillis(windowSizeMillis);
+        setWindowSizeNanos(unit.toNanos(windowSize));
     }
 
     public abstract WindowType getWindowType();
@@ -42,14 +49,30 @@ public abstract class WindowBasedRateLimiter extends ClockDependentRateLimiter {
     }
 
     public long getWindowSizeMillis() {
-        return windowSizeMillis;
+        return TimeUnit.NANOSECONDS.toMillis(windowSizeNanos);
     }
 
     public void setWindowSizeMillis(long windowSizeMillis) {
-        if (windowSizeMillis <= 0)
-            throw new IllegalArgumentException("windowSizeMillis must be greater than 0");
+        setWindowSizeNanos(TimeUnit.MILLISECONDS.toNanos(windowSizeMillis));
+    }
+
+    public long getWindowSizeNanos() {
+        return windowSizeNanos;
+    }
+
+    public void setWindowSizeNanos(long windowSizeNanos) {
+        if (windowSizeNanos <= 0)
+            throw new IllegalArgumentException("windowSize must be greater than 0");
+
+        this.windowSizeNanos = windowSizeNanos;
+    }
+
+    @Override
+    protected void checkPermits(int permits) {
+        super.checkPermits(permits);
 
-        this.windowSizeMillis = windowSizeMillis;
+        if (permits > maxQuota)
+            throw new IllegalArgumentException("permits must not exceed maxQuota");
     }
 
 }
@@ -0,0 +1,11 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.util;
+
+public enum BucketType {
+    TOKEN_BUCKET,
+    GCRA
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.util;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+/**
+ * A {@link Ticker} adapter for a {@link Clock}.
+ * 
+ * <p>
+ * Precision is limited to the milliseconds provided by {@link Clock#millis()}.
+ */
+public class ClockTicker implements Ticker {
+
+    private final Clock clock;
+
+    public ClockTicker(@NonNull Clock clock) {
+        this.clock = clock;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    @Override
+    public long read() {
+        return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ClockTicker [clock=%s]", clock);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.NonNull;
+
+/**
+ * A clock that caches {@link System#nanoTime()} in a volatile field.
+ * 
+ * <p>
+ * A single daemon thread refreshes the cached value at the configured resolution,
+ * so reading the time is a plain volatile read. The returned time may lag behind
+ * the actual time by up to one resolution period.
+ * 
+ * <p>
+ * One instance can be shared by any number of rate limiters, e.g. through
+ * {@code RateLimiterBuilder.withClock(CoarseNanoTimeClock.INSTANCE)}.
+ */
+public class CoarseNanoTimeClock extends Clock implements Ticker, AutoCloseable {
+
+    /**
+     * A shared instance with a resolution of one millisecond.
+     * Its update thread is started when this class is first used and is never stopped.
+     */
+    public static final CoarseNanoTimeClock INSTANCE = new CoarseNanoTimeClock(1, TimeUnit.MILLISECONDS);
+
+    private final long   resolutionNanos;
+    private final Thread updateThread;
+
+    private volatile long    nanos   = System.nanoTime();
+    private volatile boolean running = true;
+
+    public CoarseNanoTimeClock(long resolution, @NonNull TimeUnit unit) {
+        resolutionNanos = unit.toNanos(resolution);
+        if (resolutionNanos <= 0)
+            throw new IllegalArgumentException("resolution must be greater than 0");
+
+        updateThread = new Thread(this::update, "CoarseNanoTimeClock-" + resolutionNanos + "ns");
+        updateThread.setDaemon(true);
+        updateThread.start();
+    }
+
+    private void update() {
+        while (running) {
+            nanos = System.nanoTime();
+            LockSupport.parkNanos(this, resolutionNanos);
+        }
+    }
+
+    public long getResolutionNanos() {
+        return resolutionNanos;
+    }
+
+    @Override
+    public long read() {
+        return nanos;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        throw new UnsupportedOperationException("getZone");
+    }
+
+    @Override
+    public long millis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException("withZone");
+    }
+
+    /**
+     * Stops the update thread. The clock stops advancing afterwards.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(updateThread);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CoarseNanoTimeClock [resolutionNanos=%d]", resolutionNanos);
+    }
+
+}
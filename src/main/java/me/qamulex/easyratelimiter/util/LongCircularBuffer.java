@@ -0,0 +1,138 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A circular buffer of primitive {@code long} values with a fixed capacity.
+ * 
+ * <p>
+ * Maintains a FIFO (First In, First Out) order, automatically overwriting
+ * the oldest elements when the buffer is full.
+ * 
+ * <p>
+ * Unlike {@code CircularBuffer<Long>}, adding and reading elements never allocates.
+ */
+public class LongCircularBuffer {
+
+    private final long[] buffer;
+
+    private int headIndex = 0;
+    private int tailIndex = 0;
+    private int size      = 0;
+
+    public LongCircularBuffer(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be greater than 0");
+
+        this.buffer = new long[capacity];
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == buffer.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long item) {
+        buffer[tailIndex] = item;
+        tailIndex = (tailIndex + 1) % buffer.length;
+        if (isFull())
+            headIndex = (headIndex + 1) % buffer.length;
+        else
+            size++;
+    }
+
+    /**
+     * Adds an element the given number of times, as if {@link #add(long)} was called repeatedly.
+     * At most a capacity's worth of slots is written, in at most two contiguous ranges.
+     * 
+     * @param item  the element
+     * @param count the number of times to add the element. Must not be negative.
+     */
+    public void add(long item, int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("count must not be negative");
+
+        int written = Math.min(count, buffer.length);
+        int untilEnd = Math.min(written, buffer.length - tailIndex);
+
+        Arrays.fill(buffer, tailIndex, tailIndex + untilEnd, item);
+        Arrays.fill(buffer, 0, written - untilEnd, item);
+
+        tailIndex = (tailIndex + written) % buffer.length;
+        if (size + written >= buffer.length) {
+            headIndex = tailIndex;
+            size = buffer.length;
+        } else {
+            size += written;
+        }
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+
+        return buffer[(headIndex + index) % buffer.length];
+    }
+
+    public long getFirst() {
+        return get(0);
+    }
+
+    public long getLast() {
+        return get(size - 1);
+    }
+
+    /**
+     * Removes and returns the newest element.
+     * 
+     * @return the removed element.
+     * @throws NoSuchElementException if the buffer is empty.
+     */
+    public long removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+
+        tailIndex = (tailIndex - 1 + buffer.length) % buffer.length;
+        size--;
+        return buffer[tailIndex];
+    }
+
+    public void clear() {
+        headIndex = 0;
+        tailIndex = 0;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty())
+            return "[]";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                sb.append(',').append(' ');
+            sb.append(get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+}
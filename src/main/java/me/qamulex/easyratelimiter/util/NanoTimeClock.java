@@ -10,10 +10,15 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.util.concurrent.TimeUnit;
 
-public class NanoTimeClock extends Clock {
+public class NanoTimeClock extends Clock implements Ticker {
 
     public static final NanoTimeClock INSTANCE = new NanoTimeClock();
 
+    @Override
+    public long read() {
+        return System.nanoTime();
+    }
+
     @Override
     public ZoneId getZone() {
         throw new UnsupportedOperationException("getZone");
@@ -0,0 +1,80 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+/**
+ * A single daemon timer thread shared by all rate limiters in the JVM.
+ * 
+ * <p>
+ * Used to complete futures of asynchronous acquisitions once their reservation becomes valid,
+ * so waiting does not pin any thread. Scheduled tasks must be short, dependent stages of
+ * the returned futures run on the timer thread unless an executor is given.
+ */
+public class SharedScheduler {
+
+    /**
+     * The shared instance. Its thread is started on first use and is never stopped.
+     */
+    public static final SharedScheduler INSTANCE = new SharedScheduler();
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private SharedScheduler() {
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "EasyRateLimiter-SharedScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Runs the task once after the given delay.
+     * 
+     * @param task       the task to run
+     * @param delayNanos the delay in nanoseconds
+     * @return a future that can be used to cancel the task
+     */
+    public ScheduledFuture<?> schedule(@NonNull Runnable task, long delayNanos) {
+        return executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a future that is completed with the given value after the given delay.
+     * Cancelling the future cancels the scheduled completion.
+     * 
+     * @param delayNanos the delay in nanoseconds
+     * @param value      the value to complete the future with
+     * @return a future that is already completed if the delay is not positive
+     */
+    public <T> CompletableFuture<T> completeAfter(long delayNanos, T value) {
+        if (delayNanos <= 0)
+            return CompletableFuture.completedFuture(value);
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ScheduledFuture<?> completion = schedule(() -> future.complete(value), delayNanos);
+
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled())
+                completion.cancel(false);
+        });
+
+        return future;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SharedScheduler [queuedTasks=%d]", executor.getQueue().size());
+    }
+
+}
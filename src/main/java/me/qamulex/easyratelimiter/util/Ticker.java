@@ -0,0 +1,25 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.util;
+
+/**
+ * A source of nanosecond precision time.
+ * 
+ * <p>
+ * Values have an arbitrary origin and are only meaningful relative to each other,
+ * like {@link System#nanoTime()}.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    /**
+     * Returns the current time in nanoseconds.
+     * 
+     * @return the current time in nanoseconds.
+     */
+    long read();
+
+}
@@ -7,5 +7,6 @@ package me.qamulex.easyratelimiter.util;
 
 public enum WindowType {
     SLIDING,
-    FIXED
+    FIXED,
+    APPROXIMATE_SLIDING
 }
\ No newline at end of file
@@ -0,0 +1,609 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.wrapper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.KeyedRateLimiter;
+import me.qamulex.easyratelimiter.util.Ticker;
+
+/**
+ * A keyed rate limiter that keeps the state of all keys in open-addressed primitive arrays,
+ * without any objects per key other than the key itself.
+ * 
+ * <p>
+ * Every key holds one {@code long} per {@link Rule}, a request is allowed if all rules allow it.
+ * Keys are spread over independently locked segments. Keys whose state has fully decayed
+ * are swept away before a segment grows, so the number of stored keys stays proportional
+ * to the number of active keys.
+ * 
+ * <p>
+ * Only rules whose state fits into a single {@code long} are supported:
+ * fixed delay, aligned fixed window and the generic cell rate algorithm.
+ * 
+ * @param <K> the type of keys
+ */
+public class CompactRateLimiterMap<K> implements KeyedRateLimiter<K> {
+
+    private static final int   INITIAL_SEGMENT_CAPACITY = 16;
+    private static final int   MAX_SEGMENT_COUNT        = 1 << 16;
+    private static final float LOAD_FACTOR              = 0.75f;
+
+    private final Ticker    ticker;
+    private final Rule[]    rules;
+    private final int       maxPermits;
+    private final Segment[] segments;
+
+    /**
+     * @param ticker           the time source
+     * @param concurrencyLevel the estimated number of threads using the map concurrently
+     * @param rules            the rules every key is limited by
+     */
+    public CompactRateLimiterMap(@NonNull Ticker ticker, int concurrencyLevel, @NonNull Rule... rules) {
+        if (concurrencyLevel <= 0)
+            throw new IllegalArgumentException("concurrencyLevel must be greater than 0");
+        if (rules.length == 0)
+            throw new IllegalArgumentException("at least one rule is required");
+
+        this.ticker = ticker;
+        this.rules = rules.clone();
+
+        int maxPermits = Integer.MAX_VALUE;
+        for (Rule rule : this.rules)
+            maxPermits = Math.min(maxPermits, rule.getMaxPermits());
+        this.maxPermits = maxPermits;
+
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENT_COUNT)
+            segmentCount <<= 1;
+
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+            segments[i] = new Segment(this.rules);
+    }
+
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    private static long toMillisRoundingUp(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    private void checkPermits(int permits) {
+        if (permits < 1)
+            throw new IllegalArgumentException("permits must be greater than 0");
+
+        if (permits > maxPermits)
+            throw new IllegalArgumentException("permits must not exceed " + maxPermits);
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private Segment getSegment(int hash) {
+        // the high bits pick the segment, the low bits pick the slot within it
+        return segments[(int) (((hash & 0xFFFFFFFFL) * segments.length) >>> 32)];
+    }
+
+    public long getTimeUntilNextRequestNanos(@NonNull K key, int permits) {
+        checkPermits(permits);
+
+        int hash = hash(key);
+        Segment segment = getSegment(hash);
+
+        segment.lock.lock();
+        try {
+            int index = segment.indexOf(key, hash);
+
+            // a missing key is in the initial state, which allows every request within the limits
+            return index < 0 ? 0 : segment.getTimeUntilNextRequestNanos(index, ticker.read(), permits);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(@NonNull K key) {
+        return getTimeUntilNextRequest(key, 1);
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(@NonNull K key, int permits) {
+        return toMillisRoundingUp(getTimeUntilNextRequestNanos(key, permits));
+    }
+
+    @Override
+    public boolean isRequestAllowed(@NonNull K key) {
+        return isRequestAllowed(key, 1);
+    }
+
+    @Override
+    public boolean isRequestAllowed(@NonNull K key, int permits) {
+        return getTimeUntilNextRequestNanos(key, permits) == 0;
+    }
+
+    @Override
+    public boolean tryRequest(@NonNull K key) {
+        return tryRequest(key, 1);
+    }
+
+    @Override
+    public boolean tryRequest(@NonNull K key, int permits) {
+        checkPermits(permits);
+
+        int hash = hash(key);
+        Segment segment = getSegment(hash);
+
+        segment.lock.lock();
+        try {
+            long now = ticker.read();
+            int index = segment.indexOf(key, hash);
+
+            if (index < 0)
+                index = segment.insert(~index, key, hash, now);
+            else if (segment.getTimeUntilNextRequestNanos(index, now, permits) > 0)
+                return false;
+
+            segment.acquire(index, now, permits);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset(@NonNull K key) {
+        int hash = hash(key);
+        Segment segment = getSegment(hash);
+
+        segment.lock.lock();
+        try {
+            int index = segment.indexOf(key, hash);
+            if (index >= 0)
+                segment.removeAt(index);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes all keys whose state has fully decayed.
+     * This happens automatically before a segment grows.
+     */
+    public void evictIdle() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.evictIdle(ticker.read());
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stored keys, including keys that are idle but have not been evicted yet.
+     * 
+     * @return the number of stored keys.
+     */
+    public int size() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CompactRateLimiterMap [rules=%d, segments=%d, size=%d]",
+
+                rules.length,
+                segments.length,
+                size()
+        );
+    }
+
+    /**
+     * A table with linear probing. Slots are empty if their key is null,
+     * the states of slot {@code i} are stored at {@code states[i * rules.length]} and after.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Rule[]        rules;
+
+        private int[]    hashes;
+        private Object[] keys;
+        private long[]   states;
+        private int      size;
+
+        Segment(Rule[] rules) {
+            this.rules = rules;
+            allocate(INITIAL_SEGMENT_CAPACITY);
+        }
+
+        private void allocate(int capacity) {
+            hashes = new int[capacity];
+            keys = new Object[capacity];
+            states = new long[capacity * rules.length];
+            size = 0;
+        }
+
+        long getTimeUntilNextRequestNanos(int index, long timeNanos, int permits) {
+            long waitNanos = 0;
+
+            for (int i = 0; i < rules.length; i++)
+                waitNanos = Math.max(waitNanos, rules[i].getTimeUntilNextRequestNanos(states[index * rules.length + i], timeNanos, permits));
+
+            return waitNanos;
+        }
+
+        void acquire(int index, long timeNanos, int permits) {
+            for (int i = 0; i < rules.length; i++)
+                states[index * rules.length + i] = rules[i].acquire(states[index * rules.length + i], timeNanos, permits);
+        }
+
+        boolean isIdle(int index, long timeNanos) {
+            for (int i = 0; i < rules.length; i++) {
+                if (!rules[i].isIdle(states[index * rules.length + i], timeNanos))
+                    return false;
+            }
+
+            return true;
+        }
+
+        /**
+         * Returns the slot of the key, or the bitwise complement of the empty slot the key would be put into.
+         */
+        int indexOf(Object key, int hash) {
+            int mask = keys.length - 1;
+
+            for (int index = hash & mask;; index = (index + 1) & mask) {
+                Object slotKey = keys[index];
+
+                if (slotKey == null)
+                    return ~index;
+
+                if (hashes[index] == hash && slotKey.equals(key))
+                    return index;
+            }
+        }
+
+        /**
+         * Puts a key in the initial state into the given empty slot, evicting idle keys
+         * or growing the table first if it is too full.
+         * 
+         * @return the slot of the key
+         */
+        int insert(int index, Object key, int hash, long timeNanos) {
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                evictIdle(timeNanos);
+
+                // grow unless the sweep has freed a good share of the table, so sweeps stay amortized
+                if (size + 1 > keys.length / 2)
+                    resize(keys.length * 2);
+
+                index = ~indexOf(key, hash);
+            }
+
+            hashes[index] = hash;
+            keys[index] = key;
+            for (int i = 0; i < rules.length; i++)
+                states[index * rules.length + i] = rules[i].getInitialState();
+
+            size++;
+            return index;
+        }
+
+        private void move(int from, int to) {
+            hashes[to] = hashes[from];
+            keys[to] = keys[from];
+            System.arraycopy(states, from * rules.length, states, to * rules.length, rules.length);
+        }
+
+        /**
+         * Removes the key of a slot and shifts back the keys probed past it, so no tombstones are needed.
+         */
+        void removeAt(int index) {
+            int mask = keys.length - 1;
+            int gap = index;
+
+            for (int i = (index + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+                // the key may fill the gap if the gap lies between its home slot and its slot
+                if (((i - hashes[i]) & mask) >= ((i - gap) & mask)) {
+                    move(i, gap);
+                    gap = i;
+                }
+            }
+
+            keys[gap] = null;
+            size--;
+        }
+
+        void evictIdle(long timeNanos) {
+            for (int index = 0; index < keys.length; index++) {
+                // removing shifts a later key into the slot, which has to be checked as well
+                while (keys[index] != null && isIdle(index, timeNanos))
+                    removeAt(index);
+            }
+        }
+
+        private void resize(int capacity) {
+            int[] oldHashes = hashes;
+            Object[] oldKeys = keys;
+            long[] oldStates = states;
+
+            allocate(capacity);
+
+            for (int oldIndex = 0; oldIndex < oldKeys.length; oldIndex++) {
+                if (oldKeys[oldIndex] == null)
+                    continue;
+
+                int index = ~indexOf(oldKeys[oldIndex], oldHashes[oldIndex]);
+                hashes[index] = oldHashes[oldIndex];
+                keys[index] = oldKeys[oldIndex];
+                System.arraycopy(oldStates, oldIndex * rules.length, states, index * rules.length, rules.length);
+                size++;
+            }
+        }
+
+        void clear() {
+            allocate(INITIAL_SEGMENT_CAPACITY);
+        }
+
+    }
+
+    /**
+     * A limit whose state per key is a single {@code long}.
+     */
+    public abstract static class Rule {
+
+        Rule() {}
+
+        abstract long getInitialState();
+
+        abstract int getMaxPermits();
+
+        abstract long getTimeUntilNextRequestNanos(long state, long timeNanos, int permits);
+
+        /**
+         * Returns the state after a request that is allowed at the given time.
+         */
+        abstract long acquire(long state, long timeNanos, int permits);
+
+        abstract boolean isIdle(long state, long timeNanos);
+
+        /**
+         * A fixed delay between requests, a request of {@code n} permits pushes the next request {@code n} delays ahead.
+         * 
+         * @param delay the delay. Must be greater than zero.
+         * @param unit  the time unit of the delay.
+         * @return the rule.
+         */
+        public static Rule fixedDelay(long delay, @NonNull TimeUnit unit) {
+            long delayNanos = unit.toNanos(delay);
+            if (delayNanos <= 0)
+                throw new IllegalArgumentException("delay must be greater than 0");
+
+            return new FixedDelayRule(delayNanos);
+        }
+
+        /**
+         * A fixed number of permits within windows aligned to multiples of the window size.
+         * 
+         * @param maxQuota   the number of permits per window. Must be greater than zero.
+         * @param windowSize the window size. Must be greater than zero and allow at most about one permit per nanosecond.
+         * @param unit       the time unit of the window size.
+         * @return the rule.
+         */
+        public static Rule fixedWindow(int maxQuota, long windowSize, @NonNull TimeUnit unit) {
+            if (maxQuota <= 0)
+                throw new IllegalArgumentException("maxQuota must be greater than 0");
+
+            long windowSizeNanos = unit.toNanos(windowSize);
+            if (windowSizeNanos <= 0)
+                throw new IllegalArgumentException("windowSize must be greater than 0");
+            if (!FixedWindowRule.fits(maxQuota, windowSizeNanos))
+                throw new IllegalArgumentException("windowSize is too short for maxQuota, the window index and the used quota must fit into a long");
+
+            return new FixedWindowRule(maxQuota, windowSizeNanos);
+        }
+
+        /**
+         * The generic cell rate algorithm, equivalent to a token bucket refilled with a permit per emission interval.
+         * 
+         * @param emissionInterval the time to refill one permit. Must be greater than zero.
+         * @param unit             the time unit of the emission interval.
+         * @param burstSize        the maximum number of permits available at once. Must be greater than zero.
+         * @return the rule.
+         */
+        public static Rule gcra(long emissionInterval, @NonNull TimeUnit unit, int burstSize) {
+            long emissionIntervalNanos = unit.toNanos(emissionInterval);
+            if (emissionIntervalNanos <= 0)
+                throw new IllegalArgumentException("emissionInterval must be greater than 0");
+            if (burstSize <= 0)
+                throw new IllegalArgumentException("burstSize must be greater than 0");
+
+            return new GcraRule(emissionIntervalNanos, burstSize);
+        }
+
+    }
+
+    /**
+     * The state is the time of the next allowed request.
+     */
+    private static final class FixedDelayRule extends Rule {
+
+        private final long delayNanos;
+
+        FixedDelayRule(long delayNanos) {
+            this.delayNanos = delayNanos;
+        }
+
+        @Override
+        long getInitialState() {
+            return Long.MIN_VALUE;
+        }
+
+        @Override
+        int getMaxPermits() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        long getTimeUntilNextRequestNanos(long state, long timeNanos, int permits) {
+            return state > timeNanos ? state - timeNanos : 0;
+        }
+
+        @Override
+        long acquire(long state, long timeNanos, int permits) {
+            return timeNanos + permits * delayNanos;
+        }
+
+        @Override
+        boolean isIdle(long state, long timeNanos) {
+            return state <= timeNanos;
+        }
+
+    }
+
+    /**
+     * The state is {@code windowIndex * (maxQuota + 1) + usedQuota}, so the full window index
+     * is kept and a state left idle for however many windows never aliases the current window.
+     * A state without used quota holds no window at all, which makes 0 a valid initial state.
+     */
+    private static final class FixedWindowRule extends Rule {
+
+        private final int  maxQuota;
+        private final long windowSizeNanos;
+
+        FixedWindowRule(int maxQuota, long windowSizeNanos) {
+            this.maxQuota = maxQuota;
+            this.windowSizeNanos = windowSizeNanos;
+        }
+
+        /**
+         * Checks that the state of every window index the ticker can reach fits into a {@code long}.
+         */
+        static boolean fits(int maxQuota, long windowSizeNanos) {
+            long stride = maxQuota + 1L;
+
+            return Math.floorDiv(Long.MAX_VALUE, windowSizeNanos) <= (Long.MAX_VALUE - maxQuota) / stride
+                    && Math.floorDiv(Long.MIN_VALUE, windowSizeNanos) >= Long.MIN_VALUE / stride;
+        }
+
+        private long getWindowIndex(long timeNanos) {
+            return Math.floorDiv(timeNanos, windowSizeNanos);
+        }
+
+        private int getUsedQuota(long state, long windowIndex) {
+            long stride = maxQuota + 1L;
+            return Math.floorDiv(state, stride) == windowIndex ? (int) Math.floorMod(state, stride) : 0;
+        }
+
+        @Override
+        long getInitialState() {
+            return 0;
+        }
+
+        @Override
+        int getMaxPermits() {
+            return maxQuota;
+        }
+
+        @Override
+        long getTimeUntilNextRequestNanos(long state, long timeNanos, int permits) {
+            long windowIndex = getWindowIndex(timeNanos);
+
+            if (getUsedQuota(state, windowIndex) + permits <= maxQuota)
+                return 0;
+
+            return (windowIndex + 1) * windowSizeNanos - timeNanos;
+        }
+
+        @Override
+        long acquire(long state, long timeNanos, int permits) {
+            long windowIndex = getWindowIndex(timeNanos);
+            return windowIndex * (maxQuota + 1L) + getUsedQuota(state, windowIndex) + permits;
+        }
+
+        @Override
+        boolean isIdle(long state, long timeNanos) {
+            return getUsedQuota(state, getWindowIndex(timeNanos)) == 0;
+        }
+
+    }
+
+    /**
+     * The state is the theoretical arrival time.
+     */
+    private static final class GcraRule extends Rule {
+
+        private final long emissionIntervalNanos;
+        private final int  burstSize;
+
+        GcraRule(long emissionIntervalNanos, int burstSize) {
+            this.emissionIntervalNanos = emissionIntervalNanos;
+            this.burstSize = burstSize;
+        }
+
+        @Override
+        long getInitialState() {
+            return Long.MIN_VALUE;
+        }
+
+        @Override
+        int getMaxPermits() {
+            return burstSize;
+        }
+
+        @Override
+        long getTimeUntilNextRequestNanos(long state, long timeNanos, int permits) {
+            long tat = Math.max(state, timeNanos);
+            return Math.max(0, tat - timeNanos - (burstSize - permits) * emissionIntervalNanos);
+        }
+
+        @Override
+        long acquire(long state, long timeNanos, int permits) {
+            return Math.max(state, timeNanos) + permits * emissionIntervalNanos;
+        }
+
+        @Override
+        boolean isIdle(long state, long timeNanos) {
+            return state <= timeNanos;
+        }
+
+    }
+
+}
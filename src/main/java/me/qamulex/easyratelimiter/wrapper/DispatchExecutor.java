@@ -0,0 +1,54 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.wrapper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.qamulex.easyratelimiter.util.SharedScheduler;
+
+/**
+ * Runs the dispatchers of the rate limiting executor services.
+ *
+ * <p>
+ * The {@link SharedScheduler} only times a dispatch, the dispatch itself runs on a pooled daemon thread.
+ * Dispatchers hand tasks over to executor services of the user, which may block or run the task
+ * on the calling thread, so a slow executor service only delays its own dispatcher, never the shared
+ * timer thread or the dispatchers of other executor services. Threads are created on demand
+ * and stopped after being idle for a minute.
+ */
+final class DispatchExecutor {
+
+    static final DispatchExecutor INSTANCE = new DispatchExecutor();
+
+    private final AtomicInteger   threadCount = new AtomicInteger(0);
+    private final ExecutorService executor;
+
+    private DispatchExecutor() {
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "EasyRateLimiter-Dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the dispatch on a dispatcher thread after the given delay.
+     *
+     * @param dispatch   the dispatch to run
+     * @param delayNanos the delay in nanoseconds
+     * @return a future that cancels the dispatch unless it has already been handed to a dispatcher thread
+     */
+    Future<?> schedule(Runnable dispatch, long delayNanos) {
+        if (delayNanos <= 0)
+            return executor.submit(dispatch);
+
+        return SharedScheduler.INSTANCE.schedule(() -> executor.execute(dispatch), delayNanos);
+    }
+
+}
@@ -0,0 +1,543 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.wrapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.NonNull;
+import me.qamulex.easyratelimiter.RateLimiter;
+import me.qamulex.easyratelimiter.RateLimiterBuilder;
+import me.qamulex.easyratelimiter.impl.AdaptiveRateLimiter;
+import me.qamulex.easyratelimiter.impl.ClockDependentRateLimiter;
+import me.qamulex.easyratelimiter.util.SharedScheduler;
+
+/**
+ * An executor that releases tasks of many keys (e.g. tenants) to another executor service
+ * under a global rate limit, sharing the rate fairly between the keys.
+ *
+ * <p>
+ * Every key has its own FIFO queue. Queues are served with deficit round-robin where every task
+ * costs one permit: a key may release up to its weight of tasks in a row before the next key is served,
+ * so a noisy key cannot take more than its share of the global rate while other keys are waiting.
+ * Keys can additionally be limited by their own rate limiter; a key that is not allowed to release
+ * a task gives up its turn.
+ *
+ * <p>
+ * Like {@link RateLimitingExecutorService}, tasks are released by a dispatcher timed by
+ * the {@link SharedScheduler}, so no thread sleeps while waiting, and tasks report their completion
+ * to a global {@link AdaptiveRateLimiter}. Released tasks are handed over on a pooled dispatcher thread
+ * after the lock is released, so a slow underlying executor service never blocks callers of
+ * {@link #execute(Object, Runnable)}. Tasks refused by the underlying executor service are shed:
+ * they are cancelled if they are futures, otherwise they are discarded.
+ *
+ * @param <K> the type of keys
+ */
+public class KeyedRateLimitingExecutorService<K> {
+
+    /**
+     * The delay before retrying after a request was refused although it was allowed a moment before.
+     */
+    private static final long MIN_RETRY_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ExecutorService   executorService;
+    private final RateLimiter       rateLimiter;
+    private final RateLimiterMap<K> keyRateLimiters;
+    private final int               maxQueueSizePerKey;
+
+    private final Map<K, Integer>         weights      = new HashMap<>();
+    private final Map<K, KeyQueue<K>>     queues       = new HashMap<>();
+    private final ArrayDeque<KeyQueue<K>> activeQueues = new ArrayDeque<>();
+
+    private final ReentrantLock  lock                  = new ReentrantLock();
+    private final CountDownLatch dispatcherTermination = new CountDownLatch(1);
+    private final AtomicLong     shedTasks             = new AtomicLong(0);
+
+    // guarded by lock
+    private boolean   shutdown           = false;
+    private boolean   dispatching        = false;
+    private Future<?> scheduledDispatch;
+    private boolean   wakeUpPending      = false;
+    private long      dispatchGeneration = 0;
+    private int       queueSize          = 0;
+
+    /**
+     * @param executorService           the executor service that runs released tasks
+     * @param rateLimiter               the global rate limiter, used by this executor only
+     * @param keyRateLimiterBuilder     the builder of the rate limiters of the keys, or null if keys are not limited
+     * @param maxQueueSizePerKey        the maximum number of queued tasks per key
+     */
+    public KeyedRateLimitingExecutorService(
+            @NonNull ExecutorService executorService,
+            @NonNull RateLimiter rateLimiter,
+            RateLimiterBuilder keyRateLimiterBuilder,
+            int maxQueueSizePerKey
+    ) {
+        if (maxQueueSizePerKey <= 0)
+            throw new IllegalArgumentException("maxQueueSizePerKey must be greater than 0");
+
+        this.executorService = executorService;
+        this.rateLimiter = rateLimiter;
+        this.keyRateLimiters = keyRateLimiterBuilder != null ? keyRateLimiterBuilder.buildMap(new HashMap<>()) : null;
+        this.maxQueueSizePerKey = maxQueueSizePerKey;
+    }
+
+    public KeyedRateLimitingExecutorService(@NonNull ExecutorService executorService, @NonNull RateLimiter rateLimiter) {
+        this(executorService, rateLimiter, null, Integer.MAX_VALUE);
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public int getMaxQueueSizePerKey() {
+        return maxQueueSizePerKey;
+    }
+
+    /**
+     * Sets the weight of a key, i.e. the number of tasks it may release in a row.
+     * Keys have a weight of 1 by default.
+     *
+     * @param key    the key
+     * @param weight the weight. Must be greater than zero.
+     */
+    public void setWeight(@NonNull K key, int weight) {
+        if (weight <= 0)
+            throw new IllegalArgumentException("weight must be greater than 0");
+
+        lock.lock();
+        try {
+            if (weight == 1)
+                weights.remove(key);
+            else
+                weights.put(key, weight);
+
+            KeyQueue<K> queue = queues.get(key);
+            if (queue != null)
+                queue.weight = weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWeight(@NonNull K key) {
+        lock.lock();
+        try {
+            return weights.getOrDefault(key, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of queued tasks of a key.
+     *
+     * @param key the key
+     * @return the number of queued tasks.
+     */
+    public int getQueueSize(@NonNull K key) {
+        lock.lock();
+        try {
+            KeyQueue<K> queue = queues.get(key);
+            return queue != null ? queue.tasks.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of queued tasks of all keys.
+     *
+     * @return the number of queued tasks.
+     */
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return queueSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks refused by the underlying executor service.
+     *
+     * @return the number of shed tasks.
+     */
+    public long getShedTaskCount() {
+        return shedTasks.get();
+    }
+
+    /**
+     * Queues a task of a key.
+     *
+     * @param key  the key
+     * @param task the task
+     * @throws RejectedExecutionException if the executor has been shut down or the queue of the key is full
+     */
+    public void execute(@NonNull K key, @NonNull Runnable task) {
+        lock.lock();
+        try {
+            if (shutdown)
+                throw new RejectedExecutionException("KeyedRateLimitingExecutorService has been shut down");
+
+            KeyQueue<K> queue = queues.get(key);
+            if (queue == null) {
+                queue = new KeyQueue<>(key, weights.getOrDefault(key, 1));
+                queues.put(key, queue);
+            }
+
+            if (queue.tasks.size() >= maxQueueSizePerKey)
+                throw new RejectedExecutionException("Queue of key " + key + " is full");
+
+            queue.tasks.add(task);
+            queueSize++;
+
+            if (queue.tasks.size() == 1) {
+                activeQueues.addLast(queue);
+                wakeUpDispatcher();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a task of a key.
+     *
+     * @param key  the key
+     * @param task the task
+     * @return a future representing the pending completion of the task
+     * @throws RejectedExecutionException if the executor has been shut down or the queue of the key is full
+     */
+    public <T> Future<T> submit(@NonNull K key, @NonNull Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(key, future);
+        return future;
+    }
+
+    /**
+     * Queues a task of a key.
+     *
+     * @param key  the key
+     * @param task the task
+     * @return a future representing the pending completion of the task
+     * @throws RejectedExecutionException if the executor has been shut down or the queue of the key is full
+     */
+    public Future<?> submit(@NonNull K key, @NonNull Runnable task) {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        execute(key, future);
+        return future;
+    }
+
+    // must be called while holding the lock
+    private void wakeUpDispatcher() {
+        if (!dispatching) {
+            dispatching = true;
+            scheduleDispatch(0);
+        } else if (scheduledDispatch != null) {
+            // the dispatcher may be waiting for the limit of another key
+            scheduledDispatch.cancel(false);
+            scheduleDispatch(0);
+        } else {
+            // the running dispatch schedules the next one once it has handed over its tasks
+            wakeUpPending = true;
+        }
+    }
+
+    /**
+     * Schedules the dispatcher and supersedes any previously scheduled one. A cancelled dispatch
+     * may already have started and be waiting for the lock, so only the latest generation
+     * is allowed to run, which keeps a single dispatcher.
+     */
+    // must be called while holding the lock
+    private void scheduleDispatch(long delayNanos) {
+        long generation = ++dispatchGeneration;
+        scheduledDispatch = DispatchExecutor.INSTANCE.schedule(() -> dispatch(generation), delayNanos);
+    }
+
+    private static long getTimeUntilNextRequestNanos(RateLimiter rateLimiter) {
+        if (rateLimiter instanceof ClockDependentRateLimiter)
+            return ((ClockDependentRateLimiter) rateLimiter).getTimeUntilNextRequestNanos();
+
+        return TimeUnit.MILLISECONDS.toNanos(rateLimiter.getTimeUntilNextRequest());
+    }
+
+    /**
+     * Releases tasks while requests are allowed and hands them over outside of the lock,
+     * then schedules itself for the time the next request is allowed.
+     * Runs on a dispatcher thread, the next dispatch is only scheduled after the tasks have been handed over.
+     */
+    private void dispatch(long generation) {
+        List<Runnable> releasedTasks = new ArrayList<>();
+        long nextDispatchNanos;
+
+        lock.lock();
+        try {
+            if (generation != dispatchGeneration)
+                return;
+
+            scheduledDispatch = null;
+            wakeUpPending = false;
+            nextDispatchNanos = System.nanoTime() + releaseTasks(releasedTasks);
+        } finally {
+            lock.unlock();
+        }
+
+        for (Runnable task : releasedTasks)
+            handOver(task);
+
+        lock.lock();
+        try {
+            // superseded by shutdownNow
+            if (generation != dispatchGeneration)
+                return;
+
+            if (activeQueues.isEmpty()) {
+                dispatching = false;
+                tryTerminate();
+            } else {
+                scheduleDispatch(wakeUpPending ? 0 : Math.max(0, nextDispatchNanos - System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases tasks while both the global and the key rate limiters allow them.
+     *
+     * @return the time in nanoseconds until the next dispatch, if any tasks are left
+     */
+    // must be called while holding the lock
+    private long releaseTasks(List<Runnable> releasedTasks) {
+        while (!activeQueues.isEmpty()) {
+            long waitNanos = getTimeUntilNextRequestNanos(rateLimiter);
+            if (waitNanos > 0)
+                return waitNanos;
+
+            KeyQueue<K> queue = pollEligibleQueue();
+            if (queue == null)
+                return Math.max(getMinimumKeyWaitNanos(), MIN_RETRY_DELAY_NANOS);
+
+            RateLimiter keyRateLimiter = keyRateLimiters != null ? keyRateLimiters.get(queue.key) : null;
+
+            // a request refused although it was allowed a moment before is retried later instead of spinning
+            if (keyRateLimiter != null && !keyRateLimiter.tryRequest()) {
+                skip(queue);
+                return MIN_RETRY_DELAY_NANOS;
+            }
+
+            if (!rateLimiter.tryRequest()) {
+                if (keyRateLimiter != null)
+                    keyRateLimiter.release();
+
+                return Math.max(getTimeUntilNextRequestNanos(rateLimiter), MIN_RETRY_DELAY_NANOS);
+            }
+
+            releasedTasks.add(release(queue));
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the queue whose turn it is, skipping queues of keys that are not allowed
+     * to release a task right now. Skipped keys lose the rest of their turn.
+     */
+    private KeyQueue<K> pollEligibleQueue() {
+        for (int i = 0, n = activeQueues.size(); i < n; i++) {
+            KeyQueue<K> queue = activeQueues.peekFirst();
+
+            if (keyRateLimiters == null || keyRateLimiters.get(queue.key).isRequestAllowed()) {
+                if (queue.deficit <= 0)
+                    queue.deficit = queue.weight;
+
+                return queue;
+            }
+
+            skip(queue);
+        }
+
+        return null;
+    }
+
+    /**
+     * Moves the queue at the head to the end, the key loses the rest of its turn.
+     */
+    private void skip(KeyQueue<K> queue) {
+        queue.deficit = 0;
+        activeQueues.addLast(activeQueues.pollFirst());
+    }
+
+    private long getMinimumKeyWaitNanos() {
+        long minimumWaitNanos = Long.MAX_VALUE;
+
+        for (KeyQueue<K> queue : activeQueues)
+            minimumWaitNanos = Math.min(minimumWaitNanos, getTimeUntilNextRequestNanos(keyRateLimiters.get(queue.key)));
+
+        return minimumWaitNanos;
+    }
+
+    private Runnable release(KeyQueue<K> queue) {
+        Runnable task = queue.tasks.poll();
+        queueSize--;
+        queue.deficit--;
+
+        if (queue.tasks.isEmpty()) {
+            activeQueues.pollFirst();
+            queues.remove(queue.key);
+        } else if (queue.deficit <= 0) {
+            activeQueues.addLast(activeQueues.pollFirst());
+        }
+
+        return task;
+    }
+
+    // called without holding the lock, the underlying executor service may block or run the task itself
+    private void handOver(Runnable task) {
+        try {
+            executorService.execute(rateLimiter instanceof AdaptiveRateLimiter
+                    ? ((AdaptiveRateLimiter) rateLimiter).track(task)
+                    : task);
+        } catch (RejectedExecutionException exception) {
+            // the underlying executor service refused the task, there is nobody to report it to
+            if (task instanceof Future)
+                ((Future<?>) task).cancel(false);
+
+            shedTasks.incrementAndGet();
+        }
+    }
+
+    // must be called while holding the lock
+    private void tryTerminate() {
+        if (shutdown && !dispatching && activeQueues.isEmpty() && dispatcherTermination.getCount() > 0) {
+            executorService.shutdown();
+            dispatcherTermination.countDown();
+        }
+    }
+
+    /**
+     * Rejects new tasks, releases already queued tasks and shuts down
+     * the underlying executor service once all queues are empty.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            tryTerminate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects new tasks, removes all queued tasks and shuts down the underlying executor service immediately.
+     *
+     * @return the tasks that were never released, and the tasks that never started in the underlying executor service
+     */
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = new ArrayList<>();
+
+        lock.lock();
+        try {
+            shutdown = true;
+
+            for (KeyQueue<K> queue : activeQueues)
+                tasks.addAll(queue.tasks);
+
+            activeQueues.clear();
+            queues.clear();
+            queueSize = 0;
+
+            if (dispatching) {
+                // supersedes a dispatch that has already started
+                dispatchGeneration++;
+                if (scheduledDispatch != null)
+                    scheduledDispatch.cancel(false);
+                scheduledDispatch = null;
+                dispatching = false;
+            }
+
+            tryTerminate();
+        } finally {
+            lock.unlock();
+        }
+
+        tasks.addAll(executorService.shutdownNow());
+        return tasks;
+    }
+
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isTerminated() {
+        return dispatcherTermination.getCount() == 0 && executorService.isTerminated();
+    }
+
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        return dispatcherTermination.await(timeout, unit)
+                && executorService.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format(
+                    "KeyedRateLimitingExecutorService [rateLimiter=%s, activeKeys=%d, queueSize=%d, shedTasks=%d, shutdown=%b]",
+
+                    rateLimiter,
+                    activeQueues.size(),
+                    queueSize,
+                    shedTasks.get(),
+                    shutdown
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class KeyQueue<K> {
+
+        private final K                    key;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        private int weight;
+        private int deficit = 0;
+
+        KeyQueue(K key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+    }
+
+}
@@ -5,19 +5,63 @@
  */
 package me.qamulex.easyratelimiter.wrapper;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import me.qamulex.easyratelimiter.KeyedRateLimiter;
 import me.qamulex.easyratelimiter.RateLimiter;
 import me.qamulex.easyratelimiter.RateLimiterBuilder;
+import me.qamulex.easyratelimiter.impl.ClockDependentRateLimiter;
+import me.qamulex.easyratelimiter.util.Ticker;
 
+/**
+ * A map that creates a rate limiter for every key on first access.
+ * 
+ * <p>
+ * Rate limiters that have become idle (see {@link RateLimiter#isIdle()}) are evicted by a sweep
+ * that runs once per a number of accesses proportional to the size of the map,
+ * so the map stays proportional to the number of active keys at an amortized constant cost per access.
+ * An evicted rate limiter is indistinguishable from the one that is created on the next access.
+ * Rate limiters should therefore not be kept after use, but fetched with {@link #get(Object)} every time.
+ * Requests made with {@link #tryRequest(Object, int)} and {@link #tryRequestAll(List, int[], boolean[])}
+ * are never lost to a concurrent sweep: they detect the sweep without taking a lock, and then either put
+ * the evicted rate limiter back or repeat the request on the one that replaced it.
+ * 
+ * <p>
+ * The {@link KeyedRateLimiter} methods look the key up once and allocate nothing if the key is present.
+ */
 @RequiredArgsConstructor
-public class RateLimiterMap<K> implements Map<K, RateLimiter> {
+public class RateLimiterMap<K> implements Map<K, RateLimiter>, KeyedRateLimiter<K> {
+
+    private static final int MIN_SWEEP_INTERVAL = 64;
+
+    private final Supplier<RateLimiter> rateLimiterFactory;
+    private final Map<K, RateLimiter>   map;
+
+    private final Function<K, RateLimiter> rateLimiterCreator = ignored -> getRateLimiterFactory().get();
+    private final AtomicInteger            accessesSinceSweep = new AtomicInteger(0);
+    private final StampedLock              sweepLock          = new StampedLock();
 
-    private final RateLimiterBuilder  rateLimiterBuilder;
-    private final Map<K, RateLimiter> map;
+    /**
+     * @param rateLimiterBuilder the builder of the rate limiters, whose configuration is taken as of now
+     * @param map                the map that holds the rate limiters
+     */
+    public RateLimiterMap(@NonNull RateLimiterBuilder rateLimiterBuilder, Map<K, RateLimiter> map) {
+        this(rateLimiterBuilder.buildFactory(), map);
+    }
+
+    public Supplier<RateLimiter> getRateLimiterFactory() {
+        return rateLimiterFactory;
+    }
 
     @Override
     public void clear() {
@@ -42,10 +86,209 @@ public class RateLimiterMap<K> implements Map<K, RateLimiter> {
     @Override
     @SuppressWarnings("unchecked")
     public RateLimiter get(Object key) {
-        return map.computeIfAbsent(
-                (K) key,
-                ignored -> rateLimiterBuilder.build()
-        );
+        // sweep before the lookup, so the returned rate limiter is never the one evicted
+        int accesses = accessesSinceSweep.incrementAndGet();
+        if (accesses >= Math.max(MIN_SWEEP_INTERVAL, map.size()) && accessesSinceSweep.compareAndSet(accesses, 0))
+            evictIdle();
+
+        return map.computeIfAbsent((K) key, rateLimiterCreator);
+    }
+
+    private RateLimiter getRateLimiter(K key) {
+        // a present key takes a single lookup, only missing keys count towards the next sweep
+        RateLimiter rateLimiter = map.get(key);
+        return rateLimiter != null ? rateLimiter : get(key);
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(@NonNull K key) {
+        return getRateLimiter(key).getTimeUntilNextRequest();
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(@NonNull K key, int permits) {
+        return getRateLimiter(key).getTimeUntilNextRequest(permits);
+    }
+
+    @Override
+    public boolean isRequestAllowed(@NonNull K key) {
+        return getRateLimiter(key).isRequestAllowed();
+    }
+
+    @Override
+    public boolean isRequestAllowed(@NonNull K key, int permits) {
+        return getRateLimiter(key).isRequestAllowed(permits);
+    }
+
+    /**
+     * Checks, after a sweep ran during a request, that the request was recorded by the rate limiter mapped to the key.
+     * A rate limiter evicted in the meantime is put back, unless another one has already been created for the key,
+     * in which case the request has to be repeated.
+     */
+    private boolean isMapped(K key, RateLimiter rateLimiter) {
+        long stamp = sweepLock.readLock();
+        try {
+            RateLimiter current = map.get(key);
+            return current == rateLimiter || current == null && map.putIfAbsent(key, rateLimiter) == null;
+        } finally {
+            sweepLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean tryRequest(@NonNull K key) {
+        return tryRequest(key, 1);
+    }
+
+    @Override
+    public boolean tryRequest(@NonNull K key, int permits) {
+        while (true) {
+            long stamp = sweepLock.tryOptimisticRead();
+
+            RateLimiter rateLimiter = getRateLimiter(key);
+            boolean allowed = rateLimiter.tryRequest(permits);
+
+            if (sweepLock.validate(stamp) || isMapped(key, rateLimiter))
+                return allowed;
+        }
+    }
+
+    /**
+     * Attempts to perform a request for every key of a batch, in order.
+     * 
+     * @param keys    the keys of the requests
+     * @param results the array the decisions are written to, at the index of the key
+     * @return the number of allowed requests
+     * @see #tryRequestAll(List, int[], boolean[])
+     */
+    public int tryRequestAll(@NonNull K[] keys, @NonNull boolean[] results) {
+        return tryRequestAll(Arrays.asList(keys), null, results);
+    }
+
+    /**
+     * Attempts to perform a weighted request for every key of a batch, in order.
+     * 
+     * @param keys    the keys of the requests
+     * @param permits the number of permits of every request, or null for one permit each
+     * @param results the array the decisions are written to, at the index of the key
+     * @return the number of allowed requests
+     * @see #tryRequestAll(List, int[], boolean[])
+     */
+    public int tryRequestAll(@NonNull K[] keys, int[] permits, @NonNull boolean[] results) {
+        return tryRequestAll(Arrays.asList(keys), permits, results);
+    }
+
+    /**
+     * Attempts to perform a request for every key of a batch, in order.
+     * 
+     * @param keys    the keys of the requests
+     * @param results the array the decisions are written to, at the index of the key
+     * @return the number of allowed requests
+     * @see #tryRequestAll(List, int[], boolean[])
+     */
+    public int tryRequestAll(@NonNull List<? extends K> keys, @NonNull boolean[] results) {
+        return tryRequestAll(keys, null, results);
+    }
+
+    /**
+     * Attempts to perform a weighted request for every key of a batch, in order.
+     * 
+     * <p>
+     * All requests of the batch are decided as of a single reading of the ticker,
+     * and a run of equal keys shares a single lookup.
+     * 
+     * @param keys    the keys of the requests
+     * @param permits the number of permits of every request, or null for one permit each
+     * @param results the array the decisions are written to, at the index of the key
+     * @return the number of allowed requests
+     * @throws IllegalArgumentException if permits or results is shorter than keys.
+     */
+    public int tryRequestAll(@NonNull List<? extends K> keys, int[] permits, @NonNull boolean[] results) {
+        int size = keys.size();
+
+        if (permits != null && permits.length < size)
+            throw new IllegalArgumentException("permits must not be shorter than keys");
+        if (results.length < size)
+            throw new IllegalArgumentException("results must not be shorter than keys");
+
+        Ticker ticker = null;
+        long timeNanos = 0;
+
+        K previousKey = null;
+        RateLimiter rateLimiter = null;
+        long stamp = 0;
+        int allowed = 0;
+
+        for (int i = 0; i < size; i++) {
+            K key = keys.get(i);
+            if (rateLimiter == null || !key.equals(previousKey)) {
+                stamp = sweepLock.tryOptimisticRead();
+                rateLimiter = getRateLimiter(key);
+                previousKey = key;
+            }
+
+            int requestPermits = permits != null ? permits[i] : 1;
+
+            ClockDependentRateLimiter clockDependentRateLimiter = getClockDependentRateLimiter(rateLimiter);
+            if (clockDependentRateLimiter == null) {
+                results[i] = rateLimiter.tryRequest(requestPermits);
+            } else {
+                if (clockDependentRateLimiter.getTicker() != ticker) {
+                    ticker = clockDependentRateLimiter.getTicker();
+                    timeNanos = ticker.read();
+                }
+
+                results[i] = rateLimiter instanceof RateLimiterThreadSafetyEnforcementWrapper
+                        ? ((RateLimiterThreadSafetyEnforcementWrapper) rateLimiter).tryRequestAt(timeNanos, requestPermits)
+                        : clockDependentRateLimiter.tryRequestAt(timeNanos, requestPermits);
+            }
+
+            if (!sweepLock.validate(stamp)) {
+                boolean mapped = isMapped(key, rateLimiter);
+
+                // looked up again, so the next request is covered by a new stamp
+                rateLimiter = null;
+                if (!mapped) {
+                    i--;
+                    continue;
+                }
+            }
+
+            if (results[i])
+                allowed++;
+        }
+
+        return allowed;
+    }
+
+    private static ClockDependentRateLimiter getClockDependentRateLimiter(RateLimiter rateLimiter) {
+        if (rateLimiter instanceof RateLimiterThreadSafetyEnforcementWrapper)
+            rateLimiter = ((RateLimiterThreadSafetyEnforcementWrapper) rateLimiter).getWrappedRateLimiter();
+
+        return rateLimiter instanceof ClockDependentRateLimiter ? (ClockDependentRateLimiter) rateLimiter : null;
+    }
+
+    @Override
+    public void reset(@NonNull K key) {
+        map.remove(key);
+    }
+
+    @Override
+    public void reset() {
+        map.clear();
+    }
+
+    /**
+     * Removes all rate limiters that are idle.
+     */
+    public void evictIdle() {
+        long stamp = sweepLock.writeLock();
+        try {
+            // removes an entry only if it still maps to the checked rate limiter
+            map.values().removeIf(RateLimiter::isIdle);
+        } finally {
+            sweepLock.unlockWrite(stamp);
+        }
     }
 
     @Override
@@ -6,14 +6,32 @@
 package me.qamulex.easyratelimiter.wrapper;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.NonNull;
 import me.qamulex.easyratelimiter.RateLimiter;
+import me.qamulex.easyratelimiter.impl.ClockDependentRateLimiter;
 
+/**
+ * A wrapper that makes any rate limiter safe to share between threads.
+ * 
+ * <p>
+ * Every operation on the wrapped rate limiter is performed while holding the lock of the wrapper,
+ * but blocking methods never wait while holding it. A waiter on a {@link ClockDependentRateLimiter} reserves
+ * its request under the lock and sleeps outside of it until the reserved time, so waiters are served in the order
+ * they reserved and non-blocking callers are never stalled by them. Rate limiters without reservations are polled
+ * under the lock and slept on outside of it.
+ * 
+ * <p>
+ * A {@link ReentrantLock} is used instead of the object monitor,
+ * so virtual threads never pin their carrier thread inside the wrapper.
+ */
 public class RateLimiterThreadSafetyEnforcementWrapper implements RateLimiter {
 
-    private final RateLimiter wrappedRateLimiter;
+    private final RateLimiter   wrappedRateLimiter;
+    private final ReentrantLock lock = new ReentrantLock();
 
     public RateLimiterThreadSafetyEnforcementWrapper(@NonNull RateLimiter wrappedRateLimiter) {
         this.wrappedRateLimiter = wrappedRateLimiter;
@@ -24,38 +42,259 @@ public class RateLimiterThreadSafetyEnforcementWrapper implements RateLimiter {
     }
 
     @Override
-    public synchronized long getTimeUntilNextRequest() {
-        return wrappedRateLimiter.getTimeUntilNextRequest();
+    public long getTimeUntilNextRequest() {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.getTimeUntilNextRequest();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getTimeUntilNextRequest(int permits) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.getTimeUntilNextRequest(permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Performs {@link ClockDependentRateLimiter#tryRequestAt(long, int)} under the lock.
+     * The wrapped rate limiter must be clock dependent.
+     */
+    boolean tryRequestAt(long timeNanos, int permits) {
+        lock.lock();
+        try {
+            return ((ClockDependentRateLimiter) wrappedRateLimiter).tryRequestAt(timeNanos, permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRequestAllowed() {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.isRequestAllowed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRequestAllowed(int permits) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.isRequestAllowed(permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tryRequest() {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.tryRequest();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean isRequestAllowed() {
-        return wrappedRateLimiter.isRequestAllowed();
+    public boolean tryRequest(int permits) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.tryRequest(permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long reserve() {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.reserve();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long reserve(int permits) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.reserve(permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync() {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.acquireAsync();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync(int permits) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.acquireAsync(permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireAsync(long timeout, TimeUnit unit) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.acquireAsync(timeout, unit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireAsync(int permits, long timeout, TimeUnit unit) {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.acquireAsync(permits, timeout, unit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves a request of a clock dependent rate limiter only if it becomes allowed within the given timeout,
+     * checking and committing the wait of a single reading of its ticker.
+     * 
+     * @return the time in nanoseconds until the reserved request is allowed, or -1 if nothing was reserved.
+     */
+    private long tryReserveNanos(ClockDependentRateLimiter rateLimiter, int permits, long timeoutNanos) {
+        lock.lock();
+        try {
+            return rateLimiter.tryReserveNanos(permits, timeoutNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void blockUntilRequestAllowed() throws InterruptedException {
+        blockUntilRequestAllowed(1);
+    }
+
+    /**
+     * Waits outside of the lock until the request is allowed.
+     * A clock dependent rate limiter reserves the request and the reservation is kept
+     * if the thread is interrupted while waiting, other rate limiters are polled with
+     * {@link #tryRequest(int)} and slept on for their wait in between.
+     */
+    @Override
+    public void blockUntilRequestAllowed(int permits) throws InterruptedException {
+        if (wrappedRateLimiter instanceof ClockDependentRateLimiter) {
+            TimeUnit.NANOSECONDS.sleep(tryReserveNanos((ClockDependentRateLimiter) wrappedRateLimiter, permits, Long.MAX_VALUE));
+            return;
+        }
+
+        while (!tryRequest(permits))
+            TimeUnit.MILLISECONDS.sleep(getTimeUntilNextRequest(permits));
+    }
+
+    @Override
+    public boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) throws InterruptedException {
+        return blockUntilRequestAllowed(1, timeout, unit);
+    }
+
+    /**
+     * Waits outside of the lock until the request is allowed, unless it is not allowed within the timeout.
+     * A clock dependent rate limiter reserves the request and the reservation is kept
+     * if the thread is interrupted while waiting, other rate limiters are polled with
+     * {@link #tryRequest(int)} and slept on for their wait in between.
+     */
+    @Override
+    public boolean blockUntilRequestAllowed(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        long timeoutNanos = unit.toNanos(timeout);
+
+        if (wrappedRateLimiter instanceof ClockDependentRateLimiter) {
+            long waitNanos = tryReserveNanos((ClockDependentRateLimiter) wrappedRateLimiter, permits, timeoutNanos);
+
+            if (waitNanos < 0)
+                return false;
+
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        }
+
+        long startTime = System.nanoTime();
+
+        while (!tryRequest(permits)) {
+            long elapsed = System.nanoTime() - startTime;
+
+            if (elapsed >= timeoutNanos)
+                return false;
+
+            long remainingNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(getTimeUntilNextRequest(permits)), timeoutNanos - elapsed);
+
+            if (remainingNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } else {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
-    public synchronized boolean tryRequest() {
-        return wrappedRateLimiter.tryRequest();
+    public boolean blockUntilRequestAllowed(Duration duration) throws InterruptedException {
+        return !(duration.isNegative() || duration.isZero())
+                && blockUntilRequestAllowed(duration.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     @Override
-    public synchronized void blockUntilRequestAllowed() throws InterruptedException {
-        wrappedRateLimiter.blockUntilRequestAllowed();
+    public boolean isIdle() {
+        lock.lock();
+        try {
+            return wrappedRateLimiter.isIdle();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) throws InterruptedException {
-        return wrappedRateLimiter.blockUntilRequestAllowed(timeout, unit);
+    public void release() {
+        release(1);
     }
 
     @Override
-    public synchronized boolean blockUntilRequestAllowed(Duration duration) throws InterruptedException {
-        return wrappedRateLimiter.blockUntilRequestAllowed(duration);
+    public void release(int permits) {
+        lock.lock();
+        try {
+            wrappedRateLimiter.release(permits);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void reset() {
-        wrappedRateLimiter.reset();
+    public void reset() {
+        lock.lock();
+        try {
+            wrappedRateLimiter.reset();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -5,64 +5,460 @@
  */
 package me.qamulex.easyratelimiter.wrapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+import lombok.NonNull;
 import me.qamulex.easyratelimiter.RateLimiter;
+import me.qamulex.easyratelimiter.impl.AdaptiveRateLimiter;
+import me.qamulex.easyratelimiter.impl.ClockDependentRateLimiter;
+import me.qamulex.easyratelimiter.util.SharedScheduler;
 
+/**
+ * An executor service that hands submitted tasks over to another executor service at a limited rate.
+ *
+ * <p>
+ * Tasks are queued and released in submission order by a dispatcher timed by the {@link SharedScheduler},
+ * so no thread sleeps while waiting and any number of instances share a single timer thread.
+ * The dispatcher wakes up exactly when the next request is allowed and releases as many tasks
+ * as the rate limiter permits at that moment, e.g. a whole batch when a new window starts.
+ * Tasks are handed over on a pooled dispatcher thread rather than the timer thread,
+ * so an underlying executor service that blocks only delays its own tasks.
+ *
+ * <p>
+ * The queue can be bounded, tasks submitted to a full queue are passed to the {@link RejectionPolicy}.
+ * Tasks can also be given a deadline: a task is shed if its predicted wait exceeds the deadline
+ * when it is submitted, or if it is still queued when the deadline passes. Shed tasks are cancelled
+ * if they are futures, otherwise they are discarded. Tasks refused by the underlying executor service
+ * are shed as well. The predicted wait is the time until the next
+ * request is allowed plus the queue depth times the average interval between released tasks.
+ *
+ * <p>
+ * If the rate limiter is an {@link AdaptiveRateLimiter}, released tasks report their completion
+ * and latency to it, so the rate follows what the tasks' downstream service sustains.
+ *
+ * <p>
+ * After {@link #shutdown()}, already queued tasks are still released, and the underlying
+ * executor service is shut down once the queue is empty.
+ */
 public class RateLimitingExecutorService extends AbstractExecutorService {
 
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * The weight of the latest sample in the average interval between released tasks.
+     */
+    private static final double DISPATCH_INTERVAL_SMOOTHING = 0.2;
+
+    /**
+     * The delay before retrying a request that was refused although no wait was reported,
+     * e.g. because of rounding to milliseconds, so the dispatcher never spins.
+     */
+    private static final long MIN_RETRY_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
     private final ExecutorService executorService;
     private final RateLimiter     rateLimiter;
 
-    private final ExecutorService rateLimiterExecutor = Executors.newSingleThreadExecutor();
+    private final int             maxQueueSize;
+    private final RejectionPolicy rejectionPolicy;
+    private final long            taskDeadlineNanos;
+
+    private final Queue<QueuedTask> queue     = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger     queueSize = new AtomicInteger(0);
+    private final AtomicLong        shedTasks = new AtomicLong(0);
+
+    private final ReentrantLock  lock                  = new ReentrantLock();
+    private final ReentrantLock  rateLimiterLock       = new ReentrantLock();
+    private final CountDownLatch dispatcherTermination = new CountDownLatch(1);
+
+    private volatile boolean shutdown = false;
+
+    // guarded by lock
+    private boolean   dispatching = false;
+    private Future<?> scheduledDispatch;
+
+    // accessed by the dispatcher only
+    private boolean backlogged        = false;
+    private long    lastDispatchNanos = 0;
+
+    private volatile double averageDispatchIntervalNanos = 0;
+
+    public RateLimitingExecutorService(@NonNull ExecutorService executorService, @NonNull RateLimiter rateLimiter) {
+        this(executorService, rateLimiter, Integer.MAX_VALUE, RejectionPolicy.REJECT, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param executorService the executor service that runs released tasks
+     * @param rateLimiter     the rate limiter, used by this executor service only
+     * @param maxQueueSize    the maximum number of queued tasks
+     * @param rejectionPolicy the policy for tasks submitted to a full queue
+     * @param taskDeadline    the default deadline of a task, or 0 for no deadline
+     * @param unit            the time unit of the taskDeadline argument
+     */
+    public RateLimitingExecutorService(
+            @NonNull ExecutorService executorService,
+            @NonNull RateLimiter rateLimiter,
+            int maxQueueSize,
+            @NonNull RejectionPolicy rejectionPolicy,
+            long taskDeadline,
+            @NonNull TimeUnit unit
+    ) {
+        if (maxQueueSize <= 0)
+            throw new IllegalArgumentException("maxQueueSize must be greater than 0");
+        if (taskDeadline < 0)
+            throw new IllegalArgumentException("taskDeadline must not be negative");
 
-    public RateLimitingExecutorService(ExecutorService executorService, RateLimiter rateLimiter) {
         this.executorService = executorService;
         this.rateLimiter = rateLimiter;
+        this.maxQueueSize = maxQueueSize;
+        this.rejectionPolicy = rejectionPolicy;
+        this.taskDeadlineNanos = unit.toNanos(taskDeadline);
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    public long getTaskDeadlineNanos() {
+        return taskDeadlineNanos;
+    }
+
+    /**
+     * Returns the number of tasks waiting to be released.
+     *
+     * @return the number of queued tasks.
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * Returns the number of tasks shed because of their deadline, discarded by the rejection policy
+     * or refused by the underlying executor service.
+     *
+     * @return the number of shed tasks.
+     */
+    public long getShedTaskCount() {
+        return shedTasks.get();
+    }
+
+    /**
+     * Returns the predicted time a task submitted now would wait before being released.
+     *
+     * @return the predicted wait in nanoseconds.
+     */
+    public long getPredictedWaitNanos() {
+        return getTimeUntilNextRequestNanos() + (long) (queueSize.get() * averageDispatchIntervalNanos);
     }
 
+    /**
+     * Queues a task with the default deadline.
+     */
     @Override
-    public void execute(Runnable command) {
-        rateLimiterExecutor.execute(() -> {
+    public void execute(@NonNull Runnable command) {
+        enqueue(command, taskDeadlineNanos);
+    }
+
+    /**
+     * Queues a task that is shed if it cannot be released within the given deadline.
+     *
+     * @param command  the task
+     * @param deadline the deadline, or 0 for no deadline
+     * @param unit     the time unit of the deadline argument
+     * @throws RejectedExecutionException if the executor service has been shut down, or by the rejection policy
+     */
+    public void execute(@NonNull Runnable command, long deadline, @NonNull TimeUnit unit) {
+        if (deadline < 0)
+            throw new IllegalArgumentException("deadline must not be negative");
+
+        enqueue(command, unit.toNanos(deadline));
+    }
+
+    private void enqueue(Runnable command, long deadlineNanos) {
+        lock.lock();
+        try {
+            if (shutdown)
+                throw new RejectedExecutionException("RateLimitingExecutorService has been shut down");
+
+            if (deadlineNanos > 0 && getPredictedWaitNanos() > deadlineNanos) {
+                shed(command);
+                return;
+            }
+
+            // makes room under the lock, so the task keeps its deadline and its slot cannot be taken by another task
+            if (queueSize.get() >= maxQueueSize && rejectionPolicy == RejectionPolicy.DROP_OLDEST)
+                discardOldestTask();
+
+            if (queueSize.get() < maxQueueSize) {
+                queue.add(new QueuedTask(command, deadlineNanos > 0 ? System.nanoTime() + deadlineNanos : NO_DEADLINE));
+                queueSize.incrementAndGet();
+
+                if (!dispatching) {
+                    dispatching = true;
+                    scheduleDispatch(0);
+                }
+
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // the policy may block, so it is called outside of the lock
+        rejectionPolicy.rejectedExecution(command, this);
+    }
+
+    private void shed(Runnable task) {
+        if (task instanceof Future)
+            ((Future<?>) task).cancel(false);
+
+        shedTasks.incrementAndGet();
+    }
+
+    private QueuedTask poll() {
+        QueuedTask queuedTask = queue.poll();
+
+        if (queuedTask != null)
+            queueSize.decrementAndGet();
+
+        return queuedTask;
+    }
+
+    /**
+     * Removes the oldest queued task and cancels it if it is a future.
+     * Used by {@link RejectionPolicy#DROP_OLDEST}.
+     */
+    void discardOldestTask() {
+        QueuedTask queuedTask = poll();
+
+        if (queuedTask != null)
+            shed(queuedTask.task);
+    }
+
+    /**
+     * Reserves a request on the rate limiter and waits until it is allowed.
+     * Used by {@link RejectionPolicy#CALLER_RUNS_AFTER_WAIT}.
+     */
+    void awaitPermit() throws InterruptedException {
+        long waitMillis;
+
+        rateLimiterLock.lock();
+        try {
+            waitMillis = rateLimiter.reserve();
+        } finally {
+            rateLimiterLock.unlock();
+        }
+
+        TimeUnit.MILLISECONDS.sleep(waitMillis);
+    }
+
+    private boolean tryRequest() {
+        rateLimiterLock.lock();
+        try {
+            return rateLimiter.tryRequest();
+        } finally {
+            rateLimiterLock.unlock();
+        }
+    }
+
+    private long getTimeUntilNextRequestNanos() {
+        rateLimiterLock.lock();
+        try {
+            if (rateLimiter instanceof ClockDependentRateLimiter)
+                return ((ClockDependentRateLimiter) rateLimiter).getTimeUntilNextRequestNanos();
+
+            return TimeUnit.MILLISECONDS.toNanos(rateLimiter.getTimeUntilNextRequest());
+        } finally {
+            rateLimiterLock.unlock();
+        }
+    }
+
+    private Runnable track(Runnable task) {
+        return rateLimiter instanceof AdaptiveRateLimiter
+                ? ((AdaptiveRateLimiter) rateLimiter).track(task)
+                : task;
+    }
+
+    private void scheduleDispatch(long delayNanos) {
+        scheduledDispatch = DispatchExecutor.INSTANCE.schedule(this::dispatch, delayNanos);
+    }
+
+    /**
+     * Releases queued tasks while requests are allowed, then schedules itself
+     * for the time the next request is allowed. Runs on a dispatcher thread, one dispatch at a time.
+     */
+    private void dispatch() {
+        long waitNanos = 0;
+
+        QueuedTask queuedTask;
+        while ((queuedTask = queue.peek()) != null) {
+            if (queuedTask.isExpired()) {
+                if (queue.remove(queuedTask)) {
+                    queueSize.decrementAndGet();
+                    shed(queuedTask.task);
+                }
+
+                continue;
+            }
+
+            if (!tryRequest()) {
+                waitNanos = Math.max(getTimeUntilNextRequestNanos(), MIN_RETRY_DELAY_NANOS);
+                break;
+            }
+
+            queuedTask = poll();
+            if (queuedTask == null)
+                break;
+
+            updateAverageDispatchInterval();
+
             try {
-                rateLimiter.blockUntilRequestAllowed();
-                executorService.execute(command);
-            } catch (InterruptedException exception) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(exception);
+                executorService.execute(track(queuedTask.task));
+            } catch (RejectedExecutionException exception) {
+                // the underlying executor service refused the task, there is nobody to report it to
+                shed(queuedTask.task);
+            }
+        }
+
+        lock.lock();
+        try {
+            if (queue.isEmpty()) {
+                dispatching = false;
+                backlogged = false;
+                tryTerminate();
+            } else {
+                scheduleDispatch(waitNanos);
             }
-        });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateAverageDispatchInterval() {
+        long now = System.nanoTime();
+
+        // only intervals between tasks that had to wait tell how fast the queue is drained
+        if (backlogged) {
+            long intervalNanos = now - lastDispatchNanos;
+            averageDispatchIntervalNanos += DISPATCH_INTERVAL_SMOOTHING * (intervalNanos - averageDispatchIntervalNanos);
+        }
+
+        lastDispatchNanos = now;
+        backlogged = !queue.isEmpty();
+    }
+
+    // must be called while holding the lock
+    private void tryTerminate() {
+        if (shutdown && !dispatching && queue.isEmpty() && dispatcherTermination.getCount() > 0) {
+            executorService.shutdown();
+            dispatcherTermination.countDown();
+        }
     }
 
     @Override
     public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
-        return rateLimiterExecutor.awaitTermination(timeout, unit) && executorService.awaitTermination(timeout, unit);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        return dispatcherTermination.await(timeout, unit)
+                && executorService.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
     }
 
     @Override
     public boolean isShutdown() {
-        return rateLimiterExecutor.isShutdown() && executorService.isShutdown();
+        return shutdown;
     }
 
     @Override
     public boolean isTerminated() {
-        return rateLimiterExecutor.isTerminated() && executorService.isTerminated();
+        return dispatcherTermination.getCount() == 0 && executorService.isTerminated();
     }
 
     @Override
     public void shutdown() {
-        rateLimiterExecutor.shutdown();
-        executorService.shutdown();
+        lock.lock();
+        try {
+            shutdown = true;
+            tryTerminate();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public List<Runnable> shutdownNow() {
-        rateLimiterExecutor.shutdownNow();
-        return executorService.shutdownNow();
+        List<Runnable> tasks = new ArrayList<>();
+
+        lock.lock();
+        try {
+            shutdown = true;
+
+            QueuedTask queuedTask;
+            while ((queuedTask = poll()) != null)
+                tasks.add(queuedTask.task);
+
+            // a running dispatch finds the queue empty and terminates by itself
+            if (dispatching && scheduledDispatch.cancel(false))
+                dispatching = false;
+
+            tryTerminate();
+        } finally {
+            lock.unlock();
+        }
+
+        tasks.addAll(executorService.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "RateLimitingExecutorService [rateLimiter=%s, queueSize=%d, maxQueueSize=%d, shedTasks=%d, shutdown=%b]",
+
+                rateLimiter,
+                queueSize.get(),
+                maxQueueSize,
+                shedTasks.get(),
+                shutdown
+        );
+    }
+
+    private static class QueuedTask {
+
+        private final Runnable task;
+        private final long     deadlineNanos;
+
+        QueuedTask(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        boolean isExpired() {
+            return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0;
+        }
+
     }
 
 }
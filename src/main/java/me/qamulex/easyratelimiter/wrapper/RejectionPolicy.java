@@ -0,0 +1,67 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter.wrapper;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A handler for tasks that cannot be queued by a {@link RateLimitingExecutorService}
+ * because its queue is full.
+ */
+@FunctionalInterface
+public interface RejectionPolicy {
+
+    /**
+     * Throws a {@link RejectedExecutionException}.
+     */
+    RejectionPolicy REJECT = (task, executorService) -> {
+        throw new RejectedExecutionException("Task " + task + " rejected from " + executorService);
+    };
+
+    /**
+     * Discards the oldest queued task and retries to queue the task.
+     * The discarded task is cancelled if it is a future.
+     * 
+     * <p>
+     * A {@link RateLimitingExecutorService} configured with this policy makes room while queuing the task,
+     * so the task keeps its deadline. Called directly, the task is queued again with the default deadline.
+     */
+    RejectionPolicy DROP_OLDEST = (task, executorService) -> {
+        if (executorService.isShutdown())
+            throw new RejectedExecutionException("Task " + task + " rejected from " + executorService);
+
+        executorService.discardOldestTask();
+        executorService.execute(task);
+    };
+
+    /**
+     * Waits for a request to be allowed by the rate limiter and runs the task in the calling thread.
+     * The caller is throttled together with the queue, so the rate limit still holds.
+     */
+    RejectionPolicy CALLER_RUNS_AFTER_WAIT = (task, executorService) -> {
+        if (executorService.isShutdown())
+            throw new RejectedExecutionException("Task " + task + " rejected from " + executorService);
+
+        try {
+            executorService.awaitPermit();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(exception);
+        }
+
+        task.run();
+    };
+
+    /**
+     * Handles a task that cannot be queued.
+     * 
+     * @param task            the task
+     * @param executorService the executor service the task was submitted to
+     * @throws RejectedExecutionException if the task is rejected
+     */
+    void rejectedExecution(Runnable task, RateLimitingExecutorService executorService);
+
+}
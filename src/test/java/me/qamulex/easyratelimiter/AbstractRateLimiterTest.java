@@ -0,0 +1,84 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.AbstractRateLimiter;
+
+/**
+ * A subclass implementing only the methods that were abstract before weighted requests keeps working.
+ */
+class AbstractRateLimiterTest {
+
+    static class SinglePermitRateLimiter extends AbstractRateLimiter {
+
+        int usedQuota = 0;
+
+        @Override
+        public long getTimeUntilNextRequest() {
+            return usedQuota < 2 ? 0 : 1000;
+        }
+
+        @Override
+        public boolean isRequestAllowed() {
+            return usedQuota < 2;
+        }
+
+        @Override
+        public boolean tryRequest() {
+            if (!isRequestAllowed())
+                return false;
+
+            usedQuota++;
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            usedQuota = 0;
+        }
+
+    }
+
+    @Test
+    void testSinglePermit() throws InterruptedException {
+        SinglePermitRateLimiter rateLimiter = new SinglePermitRateLimiter();
+
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest(1));
+        assertTrue(rateLimiter.isRequestAllowed(1));
+        assertTrue(rateLimiter.tryRequest(1));
+        assertTrue(rateLimiter.blockUntilRequestAllowed(1, TimeUnit.SECONDS));
+        assertFalse(rateLimiter.tryRequest(1));
+        assertEquals(1000, rateLimiter.getTimeUntilNextRequest(1));
+        assertFalse(rateLimiter.blockUntilRequestAllowed(1, TimeUnit.MILLISECONDS));
+
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(2));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.getTimeUntilNextRequest(0));
+    }
+
+    @Test
+    void testUnsupported() {
+        SinglePermitRateLimiter rateLimiter = new SinglePermitRateLimiter();
+
+        assertThrows(UnsupportedOperationException.class, rateLimiter::reserve);
+        assertThrows(UnsupportedOperationException.class, () -> rateLimiter.reserve(1));
+        assertThrows(UnsupportedOperationException.class, rateLimiter::acquireAsync);
+        assertThrows(UnsupportedOperationException.class, () -> rateLimiter.acquireAsync(1, TimeUnit.SECONDS));
+        assertThrows(UnsupportedOperationException.class, rateLimiter::release);
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.release(0));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.reserve(0));
+        assertEquals(0, rateLimiter.usedQuota);
+    }
+
+}
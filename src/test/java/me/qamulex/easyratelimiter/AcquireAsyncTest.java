@@ -0,0 +1,74 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
+import me.qamulex.easyratelimiter.util.ExecutionTimeMeasurer;
+
+class AcquireAsyncTest implements ExecutionTimeMeasurer {
+
+    @Test
+    void testAcquireAsync() {
+        FixedDelayRateLimiter rateLimiter = new FixedDelayRateLimiter(100);
+
+        assertTrue(rateLimiter.acquireAsync().isDone());
+
+        CompletableFuture<Void> future = rateLimiter.acquireAsync();
+        assertFalse(future.isDone());
+        assertFalse(rateLimiter.tryRequest());
+        assertExecutionTimeEquals(100, future::join);
+    }
+
+    @Test
+    void testAcquireAsyncWithTimeout() {
+        FixedDelayRateLimiter rateLimiter = new FixedDelayRateLimiter(100);
+
+        assertTrue(rateLimiter.acquireAsync(50, TimeUnit.MILLISECONDS).join());
+
+        CompletableFuture<Boolean> rejected = rateLimiter.acquireAsync(50, TimeUnit.MILLISECONDS);
+        assertTrue(rejected.isDone());
+        assertFalse(rejected.join());
+
+        CompletableFuture<Boolean> accepted = rateLimiter.acquireAsync(150, TimeUnit.MILLISECONDS);
+        assertExecutionTimeEquals(100, () -> assertTrue(accepted.join()));
+    }
+
+    @Test
+    void testManyWaiters() {
+        GcraRateLimiter rateLimiter = new GcraRateLimiter(1, TimeUnit.MILLISECONDS, 1);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        assertExecutionTimeEquals(0, () -> {
+            for (int i = 0; i < 200; i++)
+                futures.add(rateLimiter.acquireAsync());
+        });
+
+        assertExecutionTimeEquals(200, 50, () -> CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join());
+    }
+
+    @Test
+    void testCancel() {
+        FixedDelayRateLimiter rateLimiter = new FixedDelayRateLimiter(1000);
+
+        assertTrue(rateLimiter.tryRequest());
+
+        CompletableFuture<Void> future = rateLimiter.acquireAsync();
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.AdaptiveRateLimiter;
+import me.qamulex.easyratelimiter.wrapper.RateLimitingExecutorService;
+
+class AdaptiveRateLimiterTest {
+
+    final AtomicLong time = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    void sleep(long millis) {
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    AdaptiveRateLimiter newRateLimiter(int minQuota, int maxQuota) {
+        return RateLimiterBuilder.newBuilder()
+                .withTicker(time::get)
+                .withWindowSize(1, TimeUnit.SECONDS)
+                .withMaxQuota(maxQuota)
+                .buildAdaptive(minQuota);
+    }
+
+    @Test
+    void testRequest() {
+        AdaptiveRateLimiter rateLimiter = newRateLimiter(2, 10);
+        assertEquals(10, rateLimiter.getLimit());
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest(1));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(3));
+    }
+
+    @Test
+    void testAdditiveIncreaseMultiplicativeDecrease() {
+        AdaptiveRateLimiter rateLimiter = newRateLimiter(2, 10);
+
+        rateLimiter.onFailure();
+        assertEquals(9, rateLimiter.getLimit(), 1e-9);
+
+        // a burst of failures within a window counts as a single overload
+        rateLimiter.onFailure();
+        assertEquals(9, rateLimiter.getLimit(), 1e-9);
+
+        sleep(1000);
+        rateLimiter.onFailure();
+        assertEquals(8.1, rateLimiter.getLimit(), 1e-9);
+
+        // a window's worth of successes adds about one request per window
+        for (int i = 0; i < 8; i++)
+            rateLimiter.onSuccess();
+        assertEquals(9.1, rateLimiter.getLimit(), 0.1);
+
+        for (int i = 0; i < 100; i++)
+            rateLimiter.onSuccess();
+        assertEquals(10, rateLimiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            sleep(1000);
+            rateLimiter.onFailure();
+        }
+        assertEquals(2, rateLimiter.getLimit());
+    }
+
+    @Test
+    void testLimitAdjustsRate() {
+        AdaptiveRateLimiter rateLimiter = newRateLimiter(2, 10);
+        rateLimiter.setBackoffRatio(0.5);
+        rateLimiter.onFailure();
+        assertEquals(5, rateLimiter.getLimit());
+
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(200, rateLimiter.getTimeUntilNextRequest());
+    }
+
+    @Test
+    void testLatencyThreshold() {
+        AdaptiveRateLimiter rateLimiter = newRateLimiter(2, 10);
+        rateLimiter.setLatencyThreshold(100, TimeUnit.MILLISECONDS);
+
+        rateLimiter.onSuccess(100, TimeUnit.MILLISECONDS);
+        assertEquals(10, rateLimiter.getLimit());
+        rateLimiter.onSuccess(101, TimeUnit.MILLISECONDS);
+        assertEquals(9, rateLimiter.getLimit(), 1e-9);
+    }
+
+    @Test
+    void testTrack() {
+        AdaptiveRateLimiter rateLimiter = newRateLimiter(2, 10);
+
+        assertThrows(RejectedExecutionException.class, rateLimiter.track(() -> {
+            throw new RejectedExecutionException();
+        })::run);
+        assertEquals(9, rateLimiter.getLimit(), 1e-9);
+
+        sleep(1000);
+        FutureTask<Void> failingTask = new FutureTask<>(() -> {
+            throw new Exception(new TimeoutException());
+        });
+        rateLimiter.track(failingTask).run();
+        assertEquals(8.1, rateLimiter.getLimit(), 1e-9);
+
+        rateLimiter.track(() -> {}).run();
+        assertEquals(8.1 + 1 / 8.1, rateLimiter.getLimit(), 1e-9);
+    }
+
+    @Test
+    void testTrackIgnoresOtherExceptions() {
+        AdaptiveRateLimiter rateLimiter = newRateLimiter(2, 10);
+
+        // neither a success nor a failure
+        assertThrows(IllegalStateException.class, rateLimiter.track(() -> {
+            throw new IllegalStateException();
+        })::run);
+        rateLimiter.track(new FutureTask<Void>(() -> {
+            throw new Exception();
+        })).run();
+        assertEquals(10, rateLimiter.getLimit());
+
+        rateLimiter.setOverloadClassifier(exception -> exception instanceof IllegalStateException);
+        assertThrows(IllegalStateException.class, rateLimiter.track(() -> {
+            throw new IllegalStateException();
+        })::run);
+        assertEquals(9, rateLimiter.getLimit(), 1e-9);
+    }
+
+    @Test
+    void testExecutorService() throws Exception {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(1, 100, 1000);
+        RateLimitingExecutorService executorService = new RateLimitingExecutorService(
+                Executors.newSingleThreadExecutor(),
+                rateLimiter
+        );
+
+        try {
+            Future<?> future = executorService.submit(() -> {
+                throw new RejectedExecutionException();
+            });
+            assertThrows(Exception.class, future::get);
+            executorService.submit(() -> {}).get();
+
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+            assertEquals(90 + 1 / 90.0, rateLimiter.getLimit(), 1e-9);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
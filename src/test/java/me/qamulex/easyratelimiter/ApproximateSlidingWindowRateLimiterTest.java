@@ -0,0 +1,65 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class ApproximateSlidingWindowRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testTryRequest() {
+        ApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new ApproximateSlidingWindowRateLimiter(10, 1000));
+        setTime(1_000_000);
+        for (int i = 0; i < 10; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(10, rateLimiter.getEstimatedUsedQuota(), 1e-9);
+
+        // the previous window still weighs 10 * 0.75 = 7.5, so requests fit while the estimate is below 10
+        sleep(1250);
+        assertEquals(7.5, rateLimiter.getEstimatedUsedQuota(), 1e-9);
+        for (int i = 0; i < 3; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testGetTimeUntilNextRequest() {
+        ApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new ApproximateSlidingWindowRateLimiter(10, 1000));
+        setTime(1_000_000);
+        for (int i = 0; i < 10; i++)
+            assertTrue(rateLimiter.tryRequest());
+
+        // next window starts in 1000 ms, then 10 * (1000 - e) / 1000 < 10 needs 1 more ms
+        assertEquals(1001, rateLimiter.getTimeUntilNextRequest());
+        sleep(1001);
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+        assertTrue(rateLimiter.tryRequest());
+
+        // estimate is now 10 * 0.999 + 1 = 10.99, needs 10 * (1000 - e) / 1000 < 9
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testReset() {
+        ApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new ApproximateSlidingWindowRateLimiter(5, 1000));
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.util.CoarseNanoTimeClock;
+
+class CoarseNanoTimeClockTest {
+
+    @Test
+    void testClockAdvances() throws InterruptedException {
+        try (CoarseNanoTimeClock clock = new CoarseNanoTimeClock(1, TimeUnit.MILLISECONDS)) {
+            long start = clock.read();
+            Thread.sleep(50);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(clock.read() - start);
+            assertTrue(elapsedMillis >= 40 && elapsedMillis <= 100, "elapsed " + elapsedMillis + " ms");
+        }
+    }
+
+    @Test
+    void testClockStopsWhenClosed() throws InterruptedException {
+        CoarseNanoTimeClock clock = new CoarseNanoTimeClock(1, TimeUnit.MILLISECONDS);
+        clock.close();
+        Thread.sleep(10);
+        long stopped = clock.read();
+        Thread.sleep(10);
+        assertEquals(stopped, clock.read());
+    }
+
+    @Test
+    void testRateLimiterWithSharedClock() throws InterruptedException {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withClock(CoarseNanoTimeClock.INSTANCE)
+                .withDelay(50)
+                .build();
+
+        assertEquals(CoarseNanoTimeClock.INSTANCE, ((FixedDelayRateLimiter) rateLimiter).getTicker());
+        assertTrue(rateLimiter.tryRequest());
+        assertTrue(rateLimiter.getTimeUntilNextRequest() > 0);
+        Thread.sleep(60);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+}
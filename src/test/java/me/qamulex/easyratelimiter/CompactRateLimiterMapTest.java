@@ -0,0 +1,185 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.wrapper.CompactRateLimiterMap;
+
+class CompactRateLimiterMapTest {
+
+    final AtomicLong time = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    void sleep(long millis) {
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    RateLimiterBuilder newBuilder() {
+        return RateLimiterBuilder.newBuilder().withTicker(time::get);
+    }
+
+    @Test
+    void testFixedDelay() {
+        CompactRateLimiterMap<String> limiters = newBuilder()
+                .withDelay(100)
+                .buildCompactMap();
+
+        assertEquals(0, limiters.getTimeUntilNextRequest("a"));
+        assertTrue(limiters.tryRequest("a"));
+        assertFalse(limiters.tryRequest("a"));
+        assertTrue(limiters.tryRequest("b"));
+        assertEquals(100, limiters.getTimeUntilNextRequest("a"));
+        sleep(100);
+        assertTrue(limiters.tryRequest("a", 2));
+        sleep(100);
+        assertFalse(limiters.isRequestAllowed("a"));
+        sleep(100);
+        assertTrue(limiters.isRequestAllowed("a"));
+    }
+
+    @Test
+    void testFixedWindow() {
+        CompactRateLimiterMap<String> limiters = newBuilder()
+                .withWindowSize(1, TimeUnit.SECONDS)
+                .withMaxQuota(3)
+                .useFixedWindow()
+                .buildCompactMap();
+
+        sleep(250);
+        assertTrue(limiters.tryRequest("a", 2));
+        assertTrue(limiters.tryRequest("a"));
+        assertFalse(limiters.tryRequest("a"));
+        assertTrue(limiters.tryRequest("b", 3));
+        assertEquals(750, limiters.getTimeUntilNextRequest("a"));
+        sleep(750);
+        assertTrue(limiters.tryRequest("a", 3));
+        assertThrows(IllegalArgumentException.class, () -> limiters.tryRequest("a", 4));
+    }
+
+    @Test
+    void testFixedWindowIdleForManyWindows() {
+        CompactRateLimiterMap<String> limiters = newBuilder()
+                .withWindowSize(1, TimeUnit.MICROSECONDS)
+                .withMaxQuota(3)
+                .useFixedWindow()
+                .buildCompactMap();
+
+        assertTrue(limiters.tryRequest("a", 3));
+        assertFalse(limiters.isRequestAllowed("a"));
+
+        // idle for exactly as many windows as fit into 32 bits
+        time.addAndGet(TimeUnit.MICROSECONDS.toNanos(1L << 32));
+        assertTrue(limiters.isRequestAllowed("a", 3));
+        limiters.evictIdle();
+        assertEquals(0, limiters.size());
+        assertTrue(limiters.tryRequest("a", 3));
+        assertFalse(limiters.tryRequest("a"));
+
+        assertThrows(IllegalArgumentException.class, () -> newBuilder()
+                .withWindowSize(1, TimeUnit.NANOSECONDS)
+                .withMaxQuota(2)
+                .useFixedWindow()
+                .buildCompactMap());
+    }
+
+    @Test
+    void testRefillRate() {
+        CompactRateLimiterMap<String> limiters = newBuilder()
+                .withRefillRate(10, 1, TimeUnit.SECONDS)
+                .withBurstSize(2)
+                .buildCompactMap();
+
+        assertTrue(limiters.tryRequest("a"));
+        assertTrue(limiters.tryRequest("a"));
+        assertFalse(limiters.tryRequest("a"));
+        assertEquals(100, limiters.getTimeUntilNextRequest("a"));
+        sleep(100);
+        assertTrue(limiters.tryRequest("a"));
+        assertFalse(limiters.isRequestAllowed("a"));
+    }
+
+    @Test
+    void testFixedDelayWithFixedWindow() {
+        CompactRateLimiterMap<String> limiters = newBuilder()
+                .withDelay(100)
+                .withWindowSize(1, TimeUnit.SECONDS)
+                .withMaxQuota(2)
+                .useFixedWindow()
+                .buildCompactMap();
+
+        assertTrue(limiters.tryRequest("a"));
+        assertFalse(limiters.tryRequest("a"));
+        sleep(100);
+        assertTrue(limiters.tryRequest("a"));
+        sleep(100);
+        assertFalse(limiters.tryRequest("a"));
+        assertEquals(800, limiters.getTimeUntilNextRequest("a"));
+    }
+
+    @Test
+    void testUnsupportedWindow() {
+        assertThrows(IllegalStateException.class, () -> newBuilder()
+                .withWindowSize(1, TimeUnit.SECONDS)
+                .withMaxQuota(2)
+                .useSlidingWindow()
+                .buildCompactMap());
+    }
+
+    @Test
+    void testReset() {
+        CompactRateLimiterMap<String> limiters = newBuilder()
+                .withDelay(100)
+                .buildCompactMap();
+
+        limiters.tryRequest("a");
+        limiters.tryRequest("b");
+        limiters.reset("a");
+        assertTrue(limiters.tryRequest("a"));
+        assertFalse(limiters.tryRequest("b"));
+        limiters.reset();
+        assertEquals(0, limiters.size());
+        assertTrue(limiters.tryRequest("b"));
+    }
+
+    @Test
+    void testManyKeys() {
+        CompactRateLimiterMap<Integer> limiters = newBuilder()
+                .withDelay(100)
+                .enforceThreadSafety(true)
+                .buildCompactMap();
+
+        int keyCount = 100_000;
+
+        for (int i = 0; i < keyCount; i++)
+            assertTrue(limiters.tryRequest(i));
+        for (int i = 0; i < keyCount; i++)
+            assertFalse(limiters.tryRequest(i));
+
+        assertEquals(keyCount, limiters.size());
+
+        // the old keys expire and are swept away instead of growing the table
+        sleep(100);
+        for (int i = 0; i < keyCount; i++)
+            assertTrue(limiters.tryRequest(keyCount + i));
+
+        assertTrue(limiters.size() < keyCount * 2);
+        for (int i = 0; i < keyCount; i++)
+            assertFalse(limiters.tryRequest(keyCount + i));
+
+        sleep(100);
+        limiters.evictIdle();
+        assertEquals(0, limiters.size());
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.CompositeRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class CompositeRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testClockPropagation() {
+        FixedDelayRateLimiter fixedDelayRateLimiter = new FixedDelayRateLimiter(100);
+        SlidingWindowRateLimiter slidingWindowRateLimiter = new SlidingWindowRateLimiter(5, 1000);
+
+        CompositeRateLimiter compositeRateLimiter = new CompositeRateLimiter(fixedDelayRateLimiter, slidingWindowRateLimiter);
+
+        compositeRateLimiter.setClock(getClock());
+        assertEquals(getClock(), fixedDelayRateLimiter.getClock());
+        assertEquals(getClock(), slidingWindowRateLimiter.getClock());
+    }
+
+    @Test
+    void testCombinedBehavior() {
+        CompositeRateLimiter rateLimiter = initCDRL(() -> new CompositeRateLimiter(
+                new SlidingWindowRateLimiter(2, 100),
+                new SlidingWindowRateLimiter(3, 1000),
+                new SlidingWindowRateLimiter(4, 10_000)
+        ));
+
+        assertTrue(rateLimiter.tryRequest());
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        // the second window is exhausted now
+        assertEquals(900, rateLimiter.getTimeUntilNextRequest());
+        sleep(900);
+        assertTrue(rateLimiter.tryRequest());
+        // the third window is exhausted now
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(9000, rateLimiter.getTimeUntilNextRequest());
+        sleep(9000);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testAllOrNothing() {
+        FixedDelayRateLimiter fixedDelayRateLimiter = new FixedDelayRateLimiter(100);
+        FixedWindowRateLimiter fixedWindowRateLimiter = new FixedWindowRateLimiter(2, 1000);
+
+        CompositeRateLimiter rateLimiter = initCDRL(() -> new CompositeRateLimiter(fixedDelayRateLimiter, fixedWindowRateLimiter));
+        setTime(1_000_000);
+
+        assertTrue(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        sleep(100);
+
+        // the window rejects, so the delay must not be consumed either
+        assertFalse(rateLimiter.tryRequest());
+        assertTrue(fixedDelayRateLimiter.isRequestAllowed());
+        assertEquals(-1, rateLimiter.tryReserveNanos(1, 0));
+        assertTrue(fixedDelayRateLimiter.isRequestAllowed());
+
+        assertEquals(800, rateLimiter.reserve());
+        assertFalse(rateLimiter.isRequestAllowed());
+        assertFalse(fixedDelayRateLimiter.isRequestAllowed());
+
+        rateLimiter.reset();
+        assertTrue(rateLimiter.isIdle());
+        assertTrue(rateLimiter.tryRequest(2));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(3));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CompositeRateLimiter());
+        assertThrows(NullPointerException.class, () -> new CompositeRateLimiter(new FixedDelayRateLimiter(100), null));
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class ConcurrentFixedDelayRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testTryRequest() {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(1000));
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        sleep(1000);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testGetTimeUntilNextRequest() {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(1000));
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(1000, rateLimiter.getTimeUntilNextRequest());
+        sleep(1000);
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+    }
+
+    @Test
+    void testReset() {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(1000));
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testConcurrentTryRequest() throws InterruptedException {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(1000));
+
+        int numberOfThreads = 32;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(numberOfThreads);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        try {
+            for (int i = 0; i < numberOfThreads; i++) {
+                executorService.submit(() -> {
+                    try {
+                        startLatch.await();
+                        for (int j = 0; j < 1000; j++) {
+                            if (rateLimiter.tryRequest())
+                                successCount.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        doneLatch.countDown();
+                    }
+                });
+            }
+
+            startLatch.countDown();
+
+            assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, successCount.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class ConcurrentFixedWindowRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testTryRequest() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(5, 1000));
+        setTime(1_000_000);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.tryRequest());
+            assertEquals(i + 1, rateLimiter.getUsedQuota());
+        }
+        assertFalse(rateLimiter.tryRequest());
+        sleep(1000);
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(1, rateLimiter.getUsedQuota());
+    }
+
+    @Test
+    void testGetTimeUntilNextRequest() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(5, 1000));
+        setTime(1_000_250);
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertEquals(750, rateLimiter.getTimeUntilNextRequest());
+        sleep(750);
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+    }
+
+    @Test
+    void testReset() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(5, 1000));
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testLargeWindowIndex() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(5, 1));
+        setTime((1L << 31) + 5);
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+        for (int i = 0; i < 4; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(1, rateLimiter.getTimeUntilNextRequest());
+
+        // idle for more windows than fit into 32 bits
+        sleep((1L << 32) - 1);
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(1, rateLimiter.getUsedQuota());
+        sleep((1L << 31) + 1);
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testSetMaxQuota() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(5, 1000));
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        rateLimiter.setMaxQuota(2);
+        assertEquals(0, rateLimiter.getUsedQuota());
+        assertTrue(rateLimiter.tryRequest());
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testConcurrentTryRequest() throws InterruptedException {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(100, 1000));
+
+        int numberOfThreads = 32;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(numberOfThreads);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        try {
+            for (int i = 0; i < numberOfThreads; i++) {
+                executorService.submit(() -> {
+                    try {
+                        startLatch.await();
+                        for (int j = 0; j < 1000; j++) {
+                            if (rateLimiter.tryRequest())
+                                successCount.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        doneLatch.countDown();
+                    }
+                });
+            }
+
+            startLatch.countDown();
+
+            assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+            assertEquals(100, successCount.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
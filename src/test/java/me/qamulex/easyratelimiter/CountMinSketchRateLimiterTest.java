@@ -0,0 +1,103 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.CountMinSketchRateLimiter;
+
+class CountMinSketchRateLimiterTest {
+
+    final AtomicLong time = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    void sleep(long millis) {
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    CountMinSketchRateLimiter<String> newRateLimiter(int maxQuota, double epsilon) {
+        return RateLimiterBuilder.newBuilder()
+                .withTicker(time::get)
+                .withWindowSize(1, TimeUnit.SECONDS)
+                .withMaxQuota(maxQuota)
+                .buildCountMinSketch(epsilon, 0.001);
+    }
+
+    @Test
+    void testRequest() {
+        CountMinSketchRateLimiter<String> rateLimiter = newRateLimiter(3, 0.01);
+        assertEquals(272, rateLimiter.getWidth());
+        assertEquals(7, rateLimiter.getDepth());
+
+        sleep(250);
+        assertTrue(rateLimiter.tryRequest("a", 2));
+        assertTrue(rateLimiter.tryRequest("a"));
+        assertFalse(rateLimiter.tryRequest("a"));
+        assertTrue(rateLimiter.tryRequest("b", 3));
+        assertEquals(3, rateLimiter.getEstimatedUsedQuota("a"));
+        assertEquals(750, rateLimiter.getTimeUntilNextRequest("a"));
+        sleep(750);
+        assertTrue(rateLimiter.isRequestAllowed("a", 3));
+        assertEquals(0, rateLimiter.getEstimatedUsedQuota("a"));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest("a", 4));
+        assertThrows(UnsupportedOperationException.class, () -> rateLimiter.reset("a"));
+    }
+
+    @Test
+    void testEqualHashCodesShareQuota() {
+        CountMinSketchRateLimiter<String> rateLimiter = newRateLimiter(3, 0.01);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        assertTrue(rateLimiter.tryRequest("Aa", 3));
+        assertEquals(3, rateLimiter.getEstimatedUsedQuota("BB"));
+        assertFalse(rateLimiter.tryRequest("BB"));
+    }
+
+    @Test
+    void testNeverAllowsBeyondLimit() {
+        CountMinSketchRateLimiter<String> rateLimiter = newRateLimiter(10, 0.01);
+
+        // far more keys than counters, every key still gets at most its quota
+        for (int i = 0; i < 100_000; i++) {
+            String key = "key" + (i % 10_000);
+            rateLimiter.tryRequest(key);
+            assertTrue(rateLimiter.getEstimatedUsedQuota(key) <= 10);
+        }
+
+        for (int i = 0; i < 10_000; i++)
+            assertFalse(rateLimiter.tryRequest("key" + i, 10));
+    }
+
+    @Test
+    void testBoundedOverLimiting() {
+        int keyCount = 1000;
+        CountMinSketchRateLimiter<String> rateLimiter = newRateLimiter(100, 0.0001);
+
+        // 5 requests per key amount to 5000 requests in the window, so estimates exceed 5 + 0.5 only rarely
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < keyCount; i++)
+                assertTrue(rateLimiter.tryRequest("key" + i));
+        }
+
+        int overestimated = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (rateLimiter.getEstimatedUsedQuota("key" + i) > 5)
+                overestimated++;
+        }
+        assertTrue(overestimated < keyCount / 100);
+
+        rateLimiter.reset();
+        assertEquals(0, rateLimiter.getEstimatedUsedQuota("key0"));
+    }
+
+}
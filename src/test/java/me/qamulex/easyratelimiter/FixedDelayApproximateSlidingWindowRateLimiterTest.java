@@ -0,0 +1,68 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class FixedDelayApproximateSlidingWindowRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testCombinedBehavior() {
+        FixedDelayApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new FixedDelayApproximateSlidingWindowRateLimiter(100, 2, 1000));
+        setTime(1_000_000);
+
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.isRequestAllowed());
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        // the window is exhausted until the next one, where both requests weigh in by 90 percent
+        assertEquals(901, rateLimiter.getTimeUntilNextRequest());
+        sleep(901);
+        assertTrue(rateLimiter.tryRequest());
+        // the window now waits longer than the delay, until half of the previous window has slid out
+        assertEquals(500, rateLimiter.getTimeUntilNextRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.isIdle());
+        assertTrue(rateLimiter.tryRequest(2));
+    }
+
+    @Test
+    void testMatchesCombination() {
+        FixedDelayApproximateSlidingWindowRateLimiter fused = initCDRL(() -> new FixedDelayApproximateSlidingWindowRateLimiter(30, 5, 200));
+        FixedDelayWindowBasedRateLimiter combined = initCDRL(() -> new FixedDelayWindowBasedRateLimiter(
+                new FixedDelayRateLimiter(30),
+                new ApproximateSlidingWindowRateLimiter(5, 200)
+        ));
+
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            int permits = 1 + random.nextInt(3);
+
+            assertEquals(combined.getTimeUntilNextRequest(permits), fused.getTimeUntilNextRequest(permits));
+            if (random.nextInt(10) == 0)
+                assertEquals(combined.reserve(permits), fused.reserve(permits));
+            else
+                assertEquals(combined.tryRequest(permits), fused.tryRequest(permits));
+            assertEquals(combined.isIdle(), fused.isIdle());
+
+            sleep(random.nextInt(40));
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.FixedDelayFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class FixedDelayFixedWindowRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testCombinedBehavior() {
+        FixedDelayFixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedDelayFixedWindowRateLimiter(100, 5, 1000));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.tryRequest());
+            assertFalse(rateLimiter.isRequestAllowed());
+            assertEquals(i == 4 ? 600 : 100, rateLimiter.getTimeUntilNextRequest());
+            sleep(100);
+            assertTrue(i == 4 || rateLimiter.isRequestAllowed());
+        }
+        assertEquals(500, rateLimiter.getTimeUntilNextRequest());
+        sleep(500);
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.isIdle());
+        assertTrue(rateLimiter.tryRequest(5));
+    }
+
+    @Test
+    void testMatchesCombination() {
+        FixedDelayFixedWindowRateLimiter fused = initCDRL(() -> new FixedDelayFixedWindowRateLimiter(30, 5, 200));
+        FixedDelayWindowBasedRateLimiter combined = initCDRL(() -> new FixedDelayWindowBasedRateLimiter(
+                new FixedDelayRateLimiter(30),
+                new FixedWindowRateLimiter(5, 200)
+        ));
+
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            int permits = 1 + random.nextInt(3);
+
+            assertEquals(combined.getTimeUntilNextRequest(permits), fused.getTimeUntilNextRequest(permits));
+            if (random.nextInt(10) == 0)
+                assertEquals(combined.reserve(permits), fused.reserve(permits));
+            else
+                assertEquals(combined.tryRequest(permits), fused.tryRequest(permits));
+            assertEquals(combined.isIdle(), fused.isIdle());
+
+            sleep(random.nextInt(40));
+        }
+    }
+
+}
@@ -5,10 +5,14 @@
  */
 package me.qamulex.easyratelimiter;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
@@ -34,6 +38,21 @@ class FixedDelayRateLimiterTest extends ClockDependentRateLimiterTestBase {
         assertEquals(0, rateLimiter.getTimeUntilNextRequest());
     }
 
+    @Test
+    void testSubMillisecondDelay() {
+        AtomicLong nanos = new AtomicLong(0);
+
+        FixedDelayRateLimiter rateLimiter = new FixedDelayRateLimiter(250, TimeUnit.MICROSECONDS);
+        rateLimiter.setTicker(nanos::get);
+
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(250_000, rateLimiter.getTimeUntilNextRequestNanos());
+        assertEquals(1, rateLimiter.getTimeUntilNextRequest());
+        nanos.addAndGet(250_000);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
     @Test
     void testReset() {
         FixedDelayRateLimiter rateLimiter = initCDRL(() -> new FixedDelayRateLimiter(1000));
@@ -42,4 +61,24 @@ class FixedDelayRateLimiterTest extends ClockDependentRateLimiterTestBase {
         assertTrue(rateLimiter.tryRequest());
     }
 
+    @Test
+    void testWeightedRequest() {
+        FixedDelayRateLimiter rateLimiter = initCDRL(() -> new FixedDelayRateLimiter(100));
+        assertTrue(rateLimiter.tryRequest(3));
+        sleep(100);
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(200, rateLimiter.getTimeUntilNextRequest(5));
+        sleep(200);
+        assertTrue(rateLimiter.tryRequest(5));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(-1));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testNextRequestTimeMillis() {
+        FixedDelayRateLimiter rateLimiter = initCDRL(() -> new FixedDelayRateLimiter(1000));
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(getTime() + 1000, rateLimiter.getNextRequestTimeMillis());
+    }
+
 }
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
@@ -49,4 +50,26 @@ class FixedWindowRateLimiterTest extends ClockDependentRateLimiterTestBase {
         assertTrue(rateLimiter.tryRequest());
     }
 
+    @Test
+    void testWeightedRequest() {
+        FixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedWindowRateLimiter(5, 1000));
+        assertTrue(rateLimiter.tryRequest(4));
+        assertFalse(rateLimiter.tryRequest(2));
+        assertEquals(1000, rateLimiter.getTimeUntilNextRequest(2));
+        assertTrue(rateLimiter.tryRequest(1));
+        assertEquals(5, rateLimiter.getUsedQuota());
+        sleep(1000);
+        assertTrue(rateLimiter.tryRequest(5));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(6));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(0));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testNextWindowTimeMillis() {
+        FixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedWindowRateLimiter(5, 1000));
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(getTime() + 1000, rateLimiter.getNextWindowTimeMillis());
+    }
+
 }
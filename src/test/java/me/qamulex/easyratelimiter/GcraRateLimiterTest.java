@@ -0,0 +1,69 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class GcraRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testTryRequest() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(100, 5));
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        sleep(500);
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testGetTimeUntilNextRequest() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(100, 2));
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        sleep(40);
+        assertEquals(60, rateLimiter.getTimeUntilNextRequest());
+        sleep(60);
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+    }
+
+    @Test
+    void testReset() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(1000, 1));
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testWeightedRequest() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(100, 5));
+        assertTrue(rateLimiter.tryRequest(5));
+        assertFalse(rateLimiter.tryRequest(1));
+        assertEquals(300, rateLimiter.getTimeUntilNextRequest(3));
+        sleep(300);
+        assertTrue(rateLimiter.tryRequest(3));
+        assertFalse(rateLimiter.tryRequest(1));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(6));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
+import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.TokenBucketRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class IsIdleTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testFixedDelayRateLimiter() {
+        FixedDelayRateLimiter rateLimiter = initCDRL(() -> new FixedDelayRateLimiter(100));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest();
+        assertFalse(rateLimiter.isIdle());
+        sleep(99);
+        assertFalse(rateLimiter.isIdle());
+        sleep(1);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testConcurrentFixedDelayRateLimiter() {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(100));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.reserve(2);
+        sleep(100);
+        assertFalse(rateLimiter.isIdle());
+        sleep(100);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testFixedWindowRateLimiter() {
+        FixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedWindowRateLimiter(2, 1000));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest();
+        sleep(500);
+        assertFalse(rateLimiter.isIdle());
+        sleep(500);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testConcurrentFixedWindowRateLimiter() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(2, 1000));
+        setTime(1_000_250);
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest();
+        sleep(500);
+        assertFalse(rateLimiter.isIdle());
+        sleep(250);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testSlidingWindowRateLimiter() {
+        SlidingWindowRateLimiter rateLimiter = initCDRL(() -> new SlidingWindowRateLimiter(2, 1000));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest();
+        sleep(500);
+        rateLimiter.tryRequest();
+        sleep(500);
+        assertFalse(rateLimiter.isIdle());
+        sleep(500);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testApproximateSlidingWindowRateLimiter() {
+        ApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new ApproximateSlidingWindowRateLimiter(2, 1000));
+        setTime(1_000_250);
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest();
+        sleep(750);
+        // the request of the previous window still weighs in
+        assertFalse(rateLimiter.isIdle());
+        sleep(1000);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testTokenBucketRateLimiter() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(2, 1, 100));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest(2);
+        sleep(100);
+        assertTrue(rateLimiter.isRequestAllowed());
+        assertFalse(rateLimiter.isIdle());
+        sleep(100);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testGcraRateLimiter() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(100, 2));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest(2);
+        sleep(100);
+        assertTrue(rateLimiter.isRequestAllowed());
+        assertFalse(rateLimiter.isIdle());
+        sleep(100);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testFixedDelayWindowBasedRateLimiter() {
+        FixedDelayWindowBasedRateLimiter rateLimiter = initCDRL(() -> new FixedDelayWindowBasedRateLimiter(
+                new FixedDelayRateLimiter(100),
+                new FixedWindowRateLimiter(2, 1000)
+        ));
+        assertTrue(rateLimiter.isIdle());
+        rateLimiter.tryRequest();
+        sleep(100);
+        // the delay has passed, but the window has not ended yet
+        assertFalse(rateLimiter.isIdle());
+        sleep(900);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.util.ExecutionTimeMeasurer;
+import me.qamulex.easyratelimiter.util.SharedScheduler;
+import me.qamulex.easyratelimiter.wrapper.KeyedRateLimitingExecutorService;
+
+class KeyedRateLimitingExecutorServiceTest implements ExecutionTimeMeasurer {
+
+    static final long delayMillis = 20;
+
+    KeyedRateLimitingExecutorService<String> executorService;
+
+    @AfterEach
+    void tearDown() {
+        if (executorService != null)
+            executorService.shutdownNow();
+    }
+
+    /**
+     * Builds an executor whose global limiter has just been used,
+     * so nothing is released before all tasks of a test are queued.
+     */
+    KeyedRateLimitingExecutorService<String> newExecutorService(RateLimiterBuilder keyRateLimiterBuilder) {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(delayMillis)
+                .build();
+        rateLimiter.tryRequest();
+
+        return new KeyedRateLimitingExecutorService<>(
+                Executors.newSingleThreadExecutor(),
+                rateLimiter,
+                keyRateLimiterBuilder,
+                Integer.MAX_VALUE
+        );
+    }
+
+    List<String> runTasks(int noisyTaskCount, int quietTaskCount) throws InterruptedException {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(noisyTaskCount + quietTaskCount);
+
+        for (int i = 0; i < noisyTaskCount; i++) {
+            executorService.execute("noisy", () -> {
+                order.add("noisy");
+                latch.countDown();
+            });
+        }
+        for (int i = 0; i < quietTaskCount; i++) {
+            executorService.execute("quiet", () -> {
+                order.add("quiet");
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(delayMillis * (noisyTaskCount + quietTaskCount) + 1000, TimeUnit.MILLISECONDS));
+        return order;
+    }
+
+    @Test
+    void testFairness() throws InterruptedException {
+        executorService = newExecutorService(null);
+
+        List<String> order = runTasks(10, 3);
+
+        // the quiet key is not stuck behind the backlog of the noisy key
+        assertEquals(
+                Arrays.asList("noisy", "quiet", "noisy", "quiet", "noisy", "quiet"),
+                order.subList(0, 6)
+        );
+    }
+
+    @Test
+    void testWeights() throws InterruptedException {
+        executorService = newExecutorService(null);
+        executorService.setWeight("noisy", 3);
+
+        assertEquals(3, executorService.getWeight("noisy"));
+        assertEquals(1, executorService.getWeight("quiet"));
+
+        List<String> order = runTasks(9, 3);
+
+        assertEquals(
+                Arrays.asList("noisy", "noisy", "noisy", "quiet", "noisy", "noisy", "noisy", "quiet"),
+                order.subList(0, 8)
+        );
+    }
+
+    @Test
+    void testKeyRateLimiting() {
+        long keyDelayMillis = 200;
+
+        executorService = newExecutorService(
+                RateLimiterBuilder.newBuilder().withDelay(keyDelayMillis)
+        );
+
+        // every key is held back by its own limit, although the global limit would allow more
+        assertExecutionTimeEquals(keyDelayMillis * 2 + delayMillis * 2, 100, () -> {
+            List<String> order = runTasks(3, 3);
+
+            assertEquals(Arrays.asList("noisy", "quiet", "noisy", "quiet", "noisy", "quiet"), order);
+        });
+    }
+
+    @Test
+    void testQueueSize() {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(1, TimeUnit.HOURS)
+                .build();
+        rateLimiter.tryRequest();
+
+        executorService = new KeyedRateLimitingExecutorService<>(
+                Executors.newSingleThreadExecutor(),
+                rateLimiter,
+                null,
+                2
+        );
+
+        for (int i = 0; i < 2; i++)
+            executorService.execute("noisy", () -> {});
+
+        assertThrows(RejectedExecutionException.class, () -> executorService.execute("noisy", () -> {}));
+        executorService.execute("quiet", () -> {});
+
+        assertEquals(2, executorService.getQueueSize("noisy"));
+        assertEquals(1, executorService.getQueueSize("quiet"));
+        assertEquals(3, executorService.getQueueSize());
+    }
+
+    @Test
+    void testShutdown() throws InterruptedException {
+        executorService = newExecutorService(null);
+
+        CountDownLatch latch = new CountDownLatch(4);
+        for (int i = 0; i < 2; i++) {
+            executorService.execute("a", latch::countDown);
+            executorService.execute("b", latch::countDown);
+        }
+
+        executorService.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> executorService.execute("a", () -> {}));
+
+        // already queued tasks are still released
+        assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(0, latch.getCount());
+        assertTrue(executorService.isTerminated());
+    }
+
+    @Test
+    void testTaskRejectedByUnderlyingExecutorService() throws InterruptedException {
+        CountDownLatch blocker = new CountDownLatch(1);
+        executorService = new KeyedRateLimitingExecutorService<>(
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>()),
+                RateLimiterBuilder.newBuilder().withDelay(delayMillis).build()
+        );
+
+        try {
+            Future<?> running = executorService.submit("a", () -> {
+                blocker.await();
+                return null;
+            });
+            Future<?> rejected = executorService.submit("b", () -> {});
+
+            Thread.sleep(delayMillis * 2);
+
+            assertFalse(running.isDone());
+            assertTrue(rejected.isCancelled());
+            assertEquals(1, executorService.getShedTaskCount());
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+    @Test
+    void testBlockingUnderlyingExecutorService() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        executorService = new KeyedRateLimitingExecutorService<>(
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy()),
+                RateLimiterBuilder.newBuilder().withDelay(1).build()
+        );
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                executorService.submit("a", () -> {
+                    blocker.await();
+                    return null;
+                });
+            }
+
+            Thread.sleep(50);
+
+            // the second task runs on the thread handing it over, which holds neither the lock nor the shared timer thread
+            CompletableFuture.runAsync(() -> executorService.execute("b", () -> {})).get(1, TimeUnit.SECONDS);
+            assertEquals(1, executorService.getQueueSize());
+            assertTrue(SharedScheduler.INSTANCE.completeAfter(TimeUnit.MILLISECONDS.toNanos(1), true).get(1, TimeUnit.SECONDS));
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.util.LongCircularBuffer;
+
+class LongCircularBufferTest {
+
+    static final int capacity = 5;
+
+    LongCircularBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new LongCircularBuffer(capacity);
+    }
+
+    @Test
+    void testInitialState() {
+        assertEquals(capacity, buffer.capacity());
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.isEmpty());
+        assertFalse(buffer.isFull());
+    }
+
+    @Test
+    void testBufferOverwrite() {
+        for (int i = 1; i <= capacity * 2; i++)
+            buffer.add(i);
+
+        assertEquals(capacity, buffer.size());
+        assertTrue(buffer.isFull());
+        assertEquals(capacity + 1, buffer.getFirst());
+        assertEquals(capacity * 2, buffer.getLast());
+    }
+
+    @Test
+    void testAddCount() {
+        buffer.add(1);
+        buffer.add(2, 3);
+        assertEquals("[1, 2, 2, 2]", buffer.toString());
+
+        // wraps around the end of the array and overwrites the oldest elements
+        buffer.add(3, 2);
+        assertEquals("[2, 2, 2, 3, 3]", buffer.toString());
+        assertTrue(buffer.isFull());
+
+        buffer.add(4, 0);
+        assertEquals("[2, 2, 2, 3, 3]", buffer.toString());
+
+        buffer.add(5, capacity * 3 + 1);
+        assertEquals("[5, 5, 5, 5, 5]", buffer.toString());
+        buffer.add(6);
+        assertEquals("[5, 5, 5, 5, 6]", buffer.toString());
+        assertEquals(6, buffer.removeLast());
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.add(7, -1));
+    }
+
+    @Test
+    void testGetByIndex() {
+        buffer.add(10);
+        buffer.add(20);
+        buffer.add(30);
+
+        assertEquals(10, buffer.get(0));
+        assertEquals(20, buffer.get(1));
+        assertEquals(30, buffer.get(2));
+    }
+
+    @Test
+    void testGetInvalidIndex() {
+        buffer.add(1);
+        buffer.add(2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(2));
+    }
+
+    @Test
+    void testRemoveLast() {
+        for (int i = 1; i <= capacity + 2; i++)
+            buffer.add(i);
+
+        assertEquals(capacity + 2, buffer.removeLast());
+        assertEquals(capacity + 1, buffer.removeLast());
+        assertEquals(capacity - 2, buffer.size());
+        assertEquals(capacity, buffer.getLast());
+
+        buffer.add(10);
+        assertEquals(3, buffer.getFirst());
+        assertEquals(10, buffer.getLast());
+
+        buffer.clear();
+        assertThrows(NoSuchElementException.class, buffer::removeLast);
+    }
+
+    @Test
+    void testClear() {
+        buffer.add(1);
+        buffer.add(2);
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.isEmpty());
+        assertFalse(buffer.isFull());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("[]", buffer.toString());
+
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        assertEquals("[1, 2, 3]", buffer.toString());
+
+        buffer.add(4);
+        buffer.add(5);
+        buffer.add(6);
+        assertEquals("[2, 3, 4, 5, 6]", buffer.toString());
+    }
+
+    @Test
+    void testConstructorExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> new LongCircularBuffer(0));
+    }
+
+}
@@ -5,16 +5,31 @@
  */
 package me.qamulex.easyratelimiter;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.ClockDependentRateLimiter;
+import me.qamulex.easyratelimiter.impl.CompositeRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayFixedWindowRateLimiter;
 import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
 import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
 import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
 import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.TokenBucketRateLimiter;
 import me.qamulex.easyratelimiter.wrapper.RateLimiterThreadSafetyEnforcementWrapper;
 
 class RateLimiterBuilderTest {
@@ -39,6 +54,12 @@ class RateLimiterBuilderTest {
                 .build();
         assertTrue(rateLimiter instanceof FixedDelayRateLimiter);
         assertEquals(150, ((FixedDelayRateLimiter) rateLimiter).getDelayMillis());
+
+        rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(100, TimeUnit.MICROSECONDS)
+                .build();
+        assertTrue(rateLimiter instanceof FixedDelayRateLimiter);
+        assertEquals(100_000, ((FixedDelayRateLimiter) rateLimiter).getDelayNanos());
     }
 
     @Test
@@ -65,6 +86,18 @@ class RateLimiterBuilderTest {
         assertEquals(5, ((SlidingWindowRateLimiter) rateLimiter).getMaxQuota());
     }
 
+    @Test
+    void testBuildApproximateSlidingWindowRateLimiter() {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withWindowSize(1000)
+                .withMaxQuota(100_000)
+                .useApproximateSlidingWindow()
+                .build();
+        assertTrue(rateLimiter instanceof ApproximateSlidingWindowRateLimiter);
+        assertEquals(1000, ((ApproximateSlidingWindowRateLimiter) rateLimiter).getWindowSizeMillis());
+        assertEquals(100_000, ((ApproximateSlidingWindowRateLimiter) rateLimiter).getMaxQuota());
+    }
+
     @Test
     void testBuildFixedDelayWindowBasedRateLimiter() {
         RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
@@ -80,14 +113,167 @@ class RateLimiterBuilderTest {
         assertEquals(5, ((SlidingWindowRateLimiter) fdwbRateLimiter.getWindowBasedRateLimiter()).getMaxQuota());
     }
 
+    @Test
+    void testBuildFusedRateLimiter() {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .useFixedWindow()
+                .build();
+        assertTrue(rateLimiter instanceof FixedDelayFixedWindowRateLimiter);
+        assertEquals(100, ((FixedDelayFixedWindowRateLimiter) rateLimiter).getDelayMillis());
+        assertEquals(1000, ((FixedDelayFixedWindowRateLimiter) rateLimiter).getWindowSizeMillis());
+        assertEquals(5, ((FixedDelayFixedWindowRateLimiter) rateLimiter).getMaxQuota());
+
+        rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .useApproximateSlidingWindow()
+                .build();
+        assertTrue(rateLimiter instanceof FixedDelayApproximateSlidingWindowRateLimiter);
+        assertEquals(100, ((FixedDelayApproximateSlidingWindowRateLimiter) rateLimiter).getDelayMillis());
+        assertEquals(5, ((FixedDelayApproximateSlidingWindowRateLimiter) rateLimiter).getMaxQuota());
+    }
+
+    @Test
+    void testBuildDefaultSlidingWindowIsNotFused() {
+        // the sliding window keeps a timestamp per request, so it is combined with the delay instead of fused
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .build();
+        assertTrue(rateLimiter instanceof FixedDelayWindowBasedRateLimiter);
+        FixedDelayWindowBasedRateLimiter fdwbRateLimiter = (FixedDelayWindowBasedRateLimiter) rateLimiter;
+        assertEquals(100, fdwbRateLimiter.getFixedDelayRateLimiter().getDelayMillis());
+        assertTrue(fdwbRateLimiter.getWindowBasedRateLimiter() instanceof SlidingWindowRateLimiter);
+        assertEquals(5, fdwbRateLimiter.getWindowBasedRateLimiter().getMaxQuota());
+
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest(), 1);
+    }
+
+    @Test
+    void testBuildCompositeRateLimiter() {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .useFixedWindow()
+                .withAdditionalWindow(100, 1, TimeUnit.HOURS)
+                .withAdditionalWindow(1, 1, TimeUnit.DAYS)
+                .build();
+        assertTrue(rateLimiter instanceof CompositeRateLimiter);
+        List<ClockDependentRateLimiter> rateLimiters = ((CompositeRateLimiter) rateLimiter).getRateLimiters();
+        assertEquals(4, rateLimiters.size());
+        assertEquals(100, ((FixedDelayRateLimiter) rateLimiters.get(0)).getDelayMillis());
+        assertEquals(5, ((FixedWindowRateLimiter) rateLimiters.get(1)).getMaxQuota());
+        assertEquals(100, ((FixedWindowRateLimiter) rateLimiters.get(2)).getMaxQuota());
+        assertEquals(TimeUnit.HOURS.toMillis(1), ((FixedWindowRateLimiter) rateLimiters.get(2)).getWindowSizeMillis());
+        assertEquals(TimeUnit.DAYS.toMillis(1), ((FixedDelayRateLimiter) rateLimiters.get(3)).getDelayMillis());
+
+        rateLimiter = RateLimiterBuilder.newBuilder()
+                .withAdditionalWindow(10, 1, TimeUnit.SECONDS)
+                .enforceThreadSafety(true)
+                .build();
+        assertTrue(rateLimiter instanceof RateLimiterThreadSafetyEnforcementWrapper);
+        assertTrue(((RateLimiterThreadSafetyEnforcementWrapper) rateLimiter).getWrappedRateLimiter() instanceof CompositeRateLimiter);
+
+        assertThrows(
+                IllegalStateException.class,
+                RateLimiterBuilder.newBuilder()
+                        .withRefillRate(500, 1, TimeUnit.SECONDS)
+                        .withAdditionalWindow(1000, 1, TimeUnit.HOURS)::build
+        );
+        assertThrows(IllegalArgumentException.class, () -> RateLimiterBuilder.newBuilder().withAdditionalWindow(0, 1, TimeUnit.HOURS));
+    }
+
+    @Test
+    void testBuildTokenBucketRateLimiter() {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withRefillRate(500, 1, TimeUnit.SECONDS)
+                .withBurstSize(2000)
+                .build();
+        assertTrue(rateLimiter instanceof TokenBucketRateLimiter);
+        assertEquals(2000, ((TokenBucketRateLimiter) rateLimiter).getCapacity());
+        assertEquals(500, ((TokenBucketRateLimiter) rateLimiter).getRefillPermits());
+        assertEquals(1000, ((TokenBucketRateLimiter) rateLimiter).getRefillPeriodMillis());
+
+        rateLimiter = RateLimiterBuilder.newBuilder()
+                .withRefillRate(500, 1, TimeUnit.SECONDS)
+                .build();
+        assertEquals(500, ((TokenBucketRateLimiter) rateLimiter).getCapacity());
+
+        assertThrows(
+                IllegalStateException.class,
+                RateLimiterBuilder.newBuilder()
+                        .withRefillRate(500, 1, TimeUnit.SECONDS)
+                        .withDelay(100)::build
+        );
+    }
+
+    @Test
+    void testBuildGcraRateLimiter() {
+        RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
+                .withRefillRate(500, 1, TimeUnit.SECONDS)
+                .withBurstSize(2000)
+                .useGcra()
+                .enforceThreadSafety(true)
+                .build();
+        assertTrue(rateLimiter instanceof GcraRateLimiter);
+        assertEquals(2, ((GcraRateLimiter) rateLimiter).getEmissionIntervalMillis());
+        assertEquals(2000, ((GcraRateLimiter) rateLimiter).getBurstSize());
+    }
+
     @Test
     void testBuildThreadSafeRateLimiter() {
         RateLimiter rateLimiter = RateLimiterBuilder.newBuilder()
                 .withDelay(100)
                 .enforceThreadSafety(true)
                 .build();
+        assertTrue(rateLimiter instanceof ConcurrentFixedDelayRateLimiter);
+        assertEquals(100, ((ConcurrentFixedDelayRateLimiter) rateLimiter).getDelayMillis());
+
+        rateLimiter = RateLimiterBuilder.newBuilder()
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .useFixedWindow()
+                .enforceThreadSafety(true)
+                .build();
+        assertTrue(rateLimiter instanceof ConcurrentFixedWindowRateLimiter);
+        assertEquals(5, ((ConcurrentFixedWindowRateLimiter) rateLimiter).getMaxQuota());
+
+        rateLimiter = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .enforceThreadSafety(true)
+                .build();
         assertTrue(rateLimiter instanceof RateLimiterThreadSafetyEnforcementWrapper);
-        assertTrue(((RateLimiterThreadSafetyEnforcementWrapper) rateLimiter).getWrappedRateLimiter() instanceof FixedDelayRateLimiter);
+        assertTrue(((RateLimiterThreadSafetyEnforcementWrapper) rateLimiter).getWrappedRateLimiter() instanceof FixedDelayWindowBasedRateLimiter);
+    }
+
+    @Test
+    void testBuildFactory() {
+        RateLimiterBuilder builder = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .withWindowSize(1000)
+                .withMaxQuota(5);
+
+        Supplier<RateLimiter> factory = builder.buildFactory();
+
+        // the factory is a snapshot of the configuration
+        builder.withDelay(200);
+
+        RateLimiter rateLimiter = factory.get();
+        assertTrue(rateLimiter instanceof FixedDelayWindowBasedRateLimiter);
+        assertEquals(100, ((FixedDelayWindowBasedRateLimiter) rateLimiter).getFixedDelayRateLimiter().getDelayMillis());
+        assertNotSame(rateLimiter, factory.get());
+
+        assertThrows(IllegalStateException.class, RateLimiterBuilder.newBuilder()::buildFactory);
     }
 
 }
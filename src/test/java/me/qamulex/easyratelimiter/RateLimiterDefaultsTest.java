@@ -0,0 +1,97 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A rate limiter implementing only the single-permit methods keeps working through the default methods.
+ */
+class RateLimiterDefaultsTest {
+
+    static class SinglePermitRateLimiter implements RateLimiter {
+
+        int usedQuota = 0;
+
+        @Override
+        public long getTimeUntilNextRequest() {
+            return usedQuota < 2 ? 0 : 1000;
+        }
+
+        @Override
+        public boolean isRequestAllowed() {
+            return usedQuota < 2;
+        }
+
+        @Override
+        public boolean tryRequest() {
+            if (!isRequestAllowed())
+                return false;
+
+            usedQuota++;
+            return true;
+        }
+
+        @Override
+        public void blockUntilRequestAllowed() {
+            tryRequest();
+        }
+
+        @Override
+        public boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) {
+            return tryRequest();
+        }
+
+        @Override
+        public boolean blockUntilRequestAllowed(Duration duration) {
+            return tryRequest();
+        }
+
+        @Override
+        public void reset() {
+            usedQuota = 0;
+        }
+
+    }
+
+    @Test
+    void testSinglePermit() throws InterruptedException {
+        RateLimiter rateLimiter = new SinglePermitRateLimiter();
+
+        assertTrue(rateLimiter.isRequestAllowed(1));
+        assertTrue(rateLimiter.tryRequest(1));
+        assertTrue(rateLimiter.blockUntilRequestAllowed(1, 1, TimeUnit.SECONDS));
+        assertFalse(rateLimiter.tryRequest(1));
+        assertEquals(1000, rateLimiter.getTimeUntilNextRequest(1));
+        assertFalse(rateLimiter.isIdle());
+
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(2));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.getTimeUntilNextRequest(0));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.blockUntilRequestAllowed(2));
+    }
+
+    @Test
+    void testUnsupported() {
+        RateLimiter rateLimiter = new SinglePermitRateLimiter();
+
+        assertThrows(UnsupportedOperationException.class, rateLimiter::reserve);
+        assertThrows(UnsupportedOperationException.class, () -> rateLimiter.reserve(1));
+        assertThrows(UnsupportedOperationException.class, rateLimiter::acquireAsync);
+        assertThrows(UnsupportedOperationException.class, () -> rateLimiter.acquireAsync(1, TimeUnit.SECONDS));
+        assertThrows(UnsupportedOperationException.class, rateLimiter::release);
+        assertThrows(UnsupportedOperationException.class, () -> rateLimiter.release(2));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.release(0));
+    }
+
+}
@@ -5,10 +5,21 @@
  */
 package me.qamulex.easyratelimiter;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
@@ -27,4 +38,147 @@ class RateLimiterMapTest {
         assertTrue(rlMap.get(1) instanceof FixedDelayRateLimiter);
     }
 
+    @Test
+    void testBuilderConstructor() {
+        RateLimiterBuilder builder = RateLimiterBuilder.newBuilder().withDelay(100);
+        RateLimiterMap<Integer> rlMap = new RateLimiterMap<>(builder, new HashMap<>());
+        builder.withDelay(0);
+
+        assertTrue(rlMap.get(1) instanceof FixedDelayRateLimiter);
+        assertTrue(rlMap.tryRequest(1));
+        assertFalse(rlMap.tryRequest(1));
+    }
+
+    @Test
+    void testIdleEviction() {
+        AtomicLong time = new AtomicLong(0);
+        RateLimiterMap<Integer> rlMap = RateLimiterBuilder.newBuilder()
+                .withTicker(time::get)
+                .withDelay(100)
+                .buildMap();
+
+        for (int i = 0; i < 1000; i++)
+            rlMap.get(i).tryRequest();
+
+        assertEquals(1000, rlMap.size());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        rlMap.evictIdle();
+        assertEquals(1000, rlMap.size());
+
+        // a busy key keeps its state, while the others expire and are swept away by later accesses
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        RateLimiter busy = rlMap.get(-1);
+        busy.tryRequest();
+        for (int i = 0; i < 1000; i++)
+            rlMap.get(-1);
+
+        assertEquals(1, rlMap.size());
+        assertSame(busy, rlMap.get(-1));
+        assertFalse(rlMap.get(-1).isRequestAllowed());
+    }
+
+    /**
+     * Builds a map that sweeps right after looking a key up, the moment a concurrent sweep
+     * would evict the idle rate limiter that is about to record a request.
+     */
+    RateLimiterMap<String> newMapSweepingOnLookup(AtomicBoolean sweepOnLookup) {
+        AtomicReference<RateLimiterMap<String>> rlMap = new AtomicReference<>();
+        rlMap.set(RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .buildMap(new ConcurrentHashMap<String, RateLimiter>() {
+
+                    @Override
+                    public RateLimiter get(Object key) {
+                        RateLimiter rateLimiter = super.get(key);
+                        if (sweepOnLookup.getAndSet(false))
+                            rlMap.get().evictIdle();
+
+                        return rateLimiter;
+                    }
+
+                }));
+
+        return rlMap.get();
+    }
+
+    @Test
+    void testSweepDuringRequest() {
+        AtomicBoolean sweepOnLookup = new AtomicBoolean(false);
+        RateLimiterMap<String> rlMap = newMapSweepingOnLookup(sweepOnLookup);
+
+        RateLimiter rateLimiter = rlMap.get("a");
+        sweepOnLookup.set(true);
+        assertTrue(rlMap.tryRequest("a"));
+        assertSame(rateLimiter, rlMap.get("a"));
+        assertFalse(rlMap.tryRequest("a"));
+
+        rlMap.get("b");
+        sweepOnLookup.set(true);
+        boolean[] results = new boolean[2];
+        assertEquals(1, rlMap.tryRequestAll(new String[] { "b", "b" }, results));
+        assertArrayEquals(new boolean[] { true, false }, results);
+        assertFalse(rlMap.tryRequest("b"));
+    }
+
+    @Test
+    void testKeyedRequests() {
+        RateLimiterMap<Integer> rlMap = RateLimiterBuilder.newBuilder()
+                .withDelay(100)
+                .buildMap();
+
+        assertTrue(rlMap.isRequestAllowed(1));
+        assertTrue(rlMap.tryRequest(1));
+        assertFalse(rlMap.tryRequest(1));
+        assertTrue(rlMap.getTimeUntilNextRequest(1) > 0);
+        assertTrue(rlMap.tryRequest(2, 2));
+        assertSame(rlMap.get(1), rlMap.get(1));
+
+        rlMap.reset(1);
+        assertTrue(rlMap.tryRequest(1));
+        assertFalse(rlMap.tryRequest(2));
+
+        rlMap.reset();
+        assertTrue(rlMap.isEmpty());
+    }
+
+    @Test
+    void testTryRequestAll() {
+        AtomicLong time = new AtomicLong(0);
+        RateLimiterMap<String> rlMap = RateLimiterBuilder.newBuilder()
+                .withTicker(time::get)
+                .withDelay(100)
+                .buildMap();
+
+        String[] keys = { "a", "a", "b", "a", "c" };
+        boolean[] results = new boolean[keys.length];
+
+        assertEquals(3, rlMap.tryRequestAll(keys, results));
+        assertArrayEquals(new boolean[] { true, false, true, false, true }, results);
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(2, rlMap.tryRequestAll(Arrays.asList("b", "b", "d"), results));
+        assertArrayEquals(new boolean[] { true, false, true }, Arrays.copyOf(results, 3));
+    }
+
+    @Test
+    void testTryRequestAllWeighted() {
+        AtomicLong time = new AtomicLong(0);
+        RateLimiterMap<String> rlMap = RateLimiterBuilder.newBuilder()
+                .withTicker(time::get)
+                .withWindowSize(1000)
+                .withMaxQuota(5)
+                .enforceThreadSafety(true)
+                .buildMap();
+
+        String[] keys = { "a", "a", "b", "a" };
+        int[] permits = { 2, 2, 5, 2 };
+        boolean[] results = new boolean[keys.length];
+
+        assertEquals(3, rlMap.tryRequestAll(keys, permits, results));
+        assertArrayEquals(new boolean[] { true, true, true, false }, results);
+        assertFalse(rlMap.tryRequest("b"));
+        assertTrue(rlMap.tryRequest("a"));
+    }
+
 }
@@ -0,0 +1,216 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.util.ExecutionTimeMeasurer;
+import me.qamulex.easyratelimiter.wrapper.RateLimiterThreadSafetyEnforcementWrapper;
+
+class RateLimiterThreadSafetyEnforcementWrapperTest implements ExecutionTimeMeasurer {
+
+    @Test
+    void testWaiterDoesNotHoldMonitor() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(new FixedWindowRateLimiter(2, 500));
+        for (int i = 0; i < 2; i++)
+            assertTrue(rateLimiter.tryRequest());
+
+        Thread waiter = new Thread(() -> {
+            try {
+                rateLimiter.blockUntilRequestAllowed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        Thread.sleep(50);
+
+        assertExecutionTimeEquals(0, () -> assertFalse(rateLimiter.isRequestAllowed()));
+        assertExecutionTimeEquals(0, () -> assertFalse(rateLimiter.tryRequest()));
+
+        waiter.join();
+    }
+
+    @Test
+    void testWaitersAreServedInOrder() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(new FixedDelayRateLimiter(50));
+        assertTrue(rateLimiter.tryRequest());
+
+        Queue<Integer> order = new ConcurrentLinkedQueue<>();
+        List<Thread> waiters = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            Thread waiter = new Thread(() -> {
+                try {
+                    rateLimiter.blockUntilRequestAllowed();
+                    order.add(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            waiter.start();
+            waiters.add(waiter);
+            Thread.sleep(5);
+        }
+
+        for (Thread waiter : waiters)
+            waiter.join();
+
+        assertEquals(5, order.size());
+        for (int i = 0; i < 5; i++)
+            assertEquals(i, order.poll());
+    }
+
+    @Test
+    void testBlockUntilRequestAllowedWithTimeout() {
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(new FixedDelayRateLimiter(100));
+        assertTrue(rateLimiter.tryRequest());
+
+        assertExecutionTimeEquals(0, () -> assertFalse(rateLimiter.blockUntilRequestAllowed(50, TimeUnit.MILLISECONDS)));
+        assertExecutionTimeEquals(100, () -> assertTrue(rateLimiter.blockUntilRequestAllowed(150, TimeUnit.MILLISECONDS)));
+    }
+
+    @Test
+    void testBlockUntilRequestAllowedWithSubMillisecondTimeout() throws InterruptedException {
+        AtomicLong time = new AtomicLong(0);
+        FixedDelayRateLimiter wrappedRateLimiter = new FixedDelayRateLimiter(1, TimeUnit.MILLISECONDS);
+        wrappedRateLimiter.setTicker(time::get);
+
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(wrappedRateLimiter);
+        assertTrue(rateLimiter.tryRequest());
+        time.set(TimeUnit.MICROSECONDS.toNanos(500));
+
+        // the wait of 500 microseconds is compared unrounded
+        assertFalse(rateLimiter.blockUntilRequestAllowed(400, TimeUnit.MICROSECONDS));
+        assertTrue(rateLimiter.blockUntilRequestAllowed(600, TimeUnit.MICROSECONDS));
+        assertFalse(rateLimiter.isRequestAllowed());
+    }
+
+    /**
+     * A rate limiter without reservations, allowing one request per 100 milliseconds.
+     */
+    static class NonReservingRateLimiter implements RateLimiter {
+
+        long lastRequestTime = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+
+        @Override
+        public long getTimeUntilNextRequest() {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRequestTime);
+            return Math.max(0, 100 - elapsedMillis);
+        }
+
+        @Override
+        public boolean isRequestAllowed() {
+            return getTimeUntilNextRequest() == 0;
+        }
+
+        @Override
+        public boolean tryRequest() {
+            if (!isRequestAllowed())
+                return false;
+
+            lastRequestTime = System.nanoTime();
+            return true;
+        }
+
+        @Override
+        public void blockUntilRequestAllowed() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean blockUntilRequestAllowed(long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean blockUntilRequestAllowed(Duration duration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void reset() {
+            lastRequestTime = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+        }
+
+    }
+
+    @Test
+    void testBlockUntilRequestAllowedWithoutReservations() {
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(new NonReservingRateLimiter());
+        assertTrue(rateLimiter.tryRequest());
+
+        assertExecutionTimeEquals(100, 50, () -> rateLimiter.blockUntilRequestAllowed());
+        assertFalse(rateLimiter.isRequestAllowed());
+
+        assertExecutionTimeEquals(50, 50, () -> assertFalse(rateLimiter.blockUntilRequestAllowed(50, TimeUnit.MILLISECONDS)));
+        assertExecutionTimeEquals(50, 50, () -> assertTrue(rateLimiter.blockUntilRequestAllowed(150, TimeUnit.MILLISECONDS)));
+        assertFalse(rateLimiter.isRequestAllowed());
+    }
+
+    @Test
+    void testVirtualThreads() throws Exception {
+        Method newVirtualThreadPerTaskExecutor;
+        try {
+            newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            newVirtualThreadPerTaskExecutor = null;
+        }
+        assumeTrue(newVirtualThreadPerTaskExecutor != null, "virtual threads require JDK 21");
+
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(
+                new FixedDelayRateLimiter(1, TimeUnit.MICROSECONDS)
+        );
+
+        int numberOfThreads = 100_000;
+        ExecutorService executorService = (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+
+        CountDownLatch doneLatch = new CountDownLatch(numberOfThreads);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        try {
+            for (int i = 0; i < numberOfThreads; i++) {
+                executorService.submit(() -> {
+                    try {
+                        rateLimiter.blockUntilRequestAllowed();
+                        successCount.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        doneLatch.countDown();
+                    }
+                });
+            }
+
+            assertTrue(doneLatch.await(30, TimeUnit.SECONDS));
+            assertEquals(numberOfThreads, successCount.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
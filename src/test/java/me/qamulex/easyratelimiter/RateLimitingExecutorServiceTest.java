@@ -5,7 +5,15 @@
  */
 package me.qamulex.easyratelimiter;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -16,10 +24,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import me.qamulex.easyratelimiter.util.ExecutionTimeMeasurer;
+import me.qamulex.easyratelimiter.util.SharedScheduler;
 import me.qamulex.easyratelimiter.wrapper.RateLimitingExecutorService;
+import me.qamulex.easyratelimiter.wrapper.RejectionPolicy;
 
 class RateLimitingExecutorServiceTest implements ExecutionTimeMeasurer {
 
@@ -109,4 +121,239 @@ class RateLimitingExecutorServiceTest implements ExecutionTimeMeasurer {
         );
     }
 
+    @Test
+    void testBatchRelease() throws InterruptedException {
+        RateLimitingExecutorService executorService = RateLimiterBuilder.newBuilder()
+                .withWindowSize(500)
+                .withMaxQuota(5)
+                .buildExecutorService();
+
+        try {
+            CountDownLatch firstBatch = new CountDownLatch(5);
+            CountDownLatch secondBatch = new CountDownLatch(10);
+
+            for (int i = 0; i < 10; i++) {
+                executorService.execute(() -> {
+                    firstBatch.countDown();
+                    secondBatch.countDown();
+                });
+            }
+
+            assertExecutionTimeEquals(0, 50, () -> assertTrue(firstBatch.await(1, TimeUnit.SECONDS)));
+            assertEquals(5, secondBatch.getCount());
+            assertExecutionTimeEquals(500, 50, () -> assertTrue(secondBatch.await(1, TimeUnit.SECONDS)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testShutdown() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger(0);
+
+        for (int i = 0; i < 3; i++)
+            executorService.execute(counter::incrementAndGet);
+
+        executorService.shutdown();
+
+        assertTrue(executorService.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> executorService.execute(counter::incrementAndGet));
+        assertFalse(executorService.isTerminated());
+
+        assertTrue(executorService.awaitTermination(delayMillis * 3 + 1000, TimeUnit.MILLISECONDS));
+        assertTrue(executorService.isTerminated());
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    void testShutdownNow() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger(0);
+
+        for (int i = 0; i < taskCount; i++)
+            executorService.execute(counter::incrementAndGet);
+
+        Thread.sleep(delayMillis / 2);
+
+        List<Runnable> pendingTasks = executorService.shutdownNow();
+
+        assertEquals(taskCount - 1, pendingTasks.size());
+        assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(1, counter.get());
+        assertEquals(0, executorService.getQueueSize());
+    }
+
+    RateLimitingExecutorService buildBoundedExecutorService(RejectionPolicy rejectionPolicy) {
+        return RateLimiterBuilder.newBuilder()
+                .withDelay(delayMillis)
+                .buildExecutorService(Executors.newSingleThreadExecutor(), 2, rejectionPolicy);
+    }
+
+    @Test
+    void testRejectPolicy() throws InterruptedException {
+        RateLimitingExecutorService executorService = buildBoundedExecutorService(RejectionPolicy.REJECT);
+
+        try {
+            executorService.execute(() -> {});
+            Thread.sleep(delayMillis / 2);
+
+            executorService.execute(() -> {});
+            executorService.execute(() -> {});
+            assertEquals(2, executorService.getQueueSize());
+            assertThrows(RejectedExecutionException.class, () -> executorService.execute(() -> {}));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDropOldestPolicy() throws InterruptedException {
+        RateLimitingExecutorService executorService = buildBoundedExecutorService(RejectionPolicy.DROP_OLDEST);
+
+        try {
+            executorService.submit(() -> {});
+            Thread.sleep(delayMillis / 2);
+
+            Future<?> oldest = executorService.submit(() -> {});
+            executorService.submit(() -> {});
+            executorService.submit(() -> {});
+
+            assertEquals(2, executorService.getQueueSize());
+            assertTrue(oldest.isCancelled());
+            assertEquals(1, executorService.getShedTaskCount());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDropOldestPolicyKeepsDeadline() throws InterruptedException {
+        RateLimitingExecutorService executorService = buildBoundedExecutorService(RejectionPolicy.DROP_OLDEST);
+
+        try {
+            executorService.execute(() -> {});
+            Thread.sleep(delayMillis / 2);
+
+            AtomicInteger counter = new AtomicInteger(0);
+            executorService.execute(counter::incrementAndGet);
+            executorService.execute(counter::incrementAndGet);
+
+            // queued behind one task, so it is still queued when its deadline passes
+            executorService.execute(() -> counter.addAndGet(100), delayMillis, TimeUnit.MILLISECONDS);
+            assertEquals(2, executorService.getQueueSize());
+            assertEquals(1, executorService.getShedTaskCount());
+
+            Thread.sleep(delayMillis * 5 / 2);
+
+            assertEquals(1, counter.get());
+            assertEquals(2, executorService.getShedTaskCount());
+            assertEquals(0, executorService.getQueueSize());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallerRunsAfterWaitPolicy() throws InterruptedException {
+        RateLimitingExecutorService executorService = RateLimiterBuilder.newBuilder()
+                .withDelay(delayMillis)
+                .buildExecutorService(Executors.newSingleThreadExecutor(), 1, RejectionPolicy.CALLER_RUNS_AFTER_WAIT);
+
+        try {
+            executorService.execute(() -> {});
+            Thread.sleep(delayMillis / 2);
+            executorService.execute(() -> {});
+
+            Thread caller = Thread.currentThread();
+            List<Thread> runners = new ArrayList<>();
+
+            assertExecutionTimeEquals(delayMillis / 2, 30, () -> executorService.execute(() -> runners.add(Thread.currentThread())));
+            assertEquals(1, runners.size());
+            assertEquals(caller, runners.get(0));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTaskDeadline() throws InterruptedException {
+        RateLimitingExecutorService executorService = RateLimiterBuilder.newBuilder()
+                .withDelay(delayMillis)
+                .buildExecutorService(
+                        Executors.newSingleThreadExecutor(),
+                        Integer.MAX_VALUE,
+                        RejectionPolicy.REJECT,
+                        Duration.ofMillis(delayMillis * 5 / 2)
+                );
+
+        try {
+            AtomicInteger counter = new AtomicInteger(0);
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < taskCount; i++)
+                futures.add(executorService.submit(counter::incrementAndGet));
+
+            Thread.sleep(delayMillis * 4);
+
+            assertEquals(3, counter.get());
+            assertEquals(taskCount - 3, executorService.getShedTaskCount());
+            assertEquals(0, executorService.getQueueSize());
+            for (int i = 3; i < taskCount; i++)
+                assertTrue(futures.get(i).isCancelled());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTaskRejectedByUnderlyingExecutorService() throws InterruptedException {
+        CountDownLatch blocker = new CountDownLatch(1);
+        RateLimitingExecutorService executorService = RateLimiterBuilder.newBuilder()
+                .withDelay(delayMillis)
+                .buildExecutorService(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>()));
+
+        try {
+            Future<?> running = executorService.submit(() -> {
+                blocker.await();
+                return null;
+            });
+            Future<?> rejected = executorService.submit(() -> {});
+
+            Thread.sleep(delayMillis * 2);
+
+            assertFalse(running.isDone());
+            assertTrue(rejected.isCancelled());
+            assertEquals(1, executorService.getShedTaskCount());
+        } finally {
+            blocker.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBlockingUnderlyingExecutorService() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        RateLimitingExecutorService executorService = RateLimiterBuilder.newBuilder()
+                .withDelay(1)
+                .buildExecutorService(new ThreadPoolExecutor(
+                        1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy()
+                ));
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                executorService.submit(() -> {
+                    blocker.await();
+                    return null;
+                });
+            }
+
+            Thread.sleep(50);
+
+            // the second task runs on the thread handing it over, which must not be the shared timer thread
+            assertTrue(SharedScheduler.INSTANCE.completeAfter(TimeUnit.MILLISECONDS.toNanos(1), true).get(1, TimeUnit.SECONDS));
+        } finally {
+            blocker.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,162 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.CompositeRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
+import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.TokenBucketRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+import me.qamulex.easyratelimiter.wrapper.RateLimiterThreadSafetyEnforcementWrapper;
+
+class ReleaseTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testFixedDelayRateLimiter() {
+        FixedDelayRateLimiter rateLimiter = initCDRL(() -> new FixedDelayRateLimiter(100));
+        assertTrue(rateLimiter.tryRequest(2));
+        rateLimiter.release();
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest());
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.release(0));
+    }
+
+    @Test
+    void testConcurrentFixedDelayRateLimiter() {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(100));
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testFixedWindowRateLimiter() {
+        FixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedWindowRateLimiter(2, 1000));
+        assertTrue(rateLimiter.tryRequest(2));
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.release(5);
+        assertEquals(0, rateLimiter.getUsedQuota());
+        assertTrue(rateLimiter.tryRequest(2));
+    }
+
+    @Test
+    void testConcurrentFixedWindowRateLimiter() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(2, 1000));
+        assertTrue(rateLimiter.tryRequest(2));
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertEquals(1, rateLimiter.getUsedQuota());
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.release(5);
+        assertEquals(0, rateLimiter.getUsedQuota());
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testSlidingWindowRateLimiter() {
+        SlidingWindowRateLimiter rateLimiter = initCDRL(() -> new SlidingWindowRateLimiter(3, 1000));
+        assertTrue(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(800, rateLimiter.getTimeUntilNextRequest());
+
+        // the latest request is removed, the oldest one keeps limiting the window
+        rateLimiter.release(2);
+        assertEquals(1, rateLimiter.getUsedQuota());
+        assertTrue(rateLimiter.tryRequest(2));
+        assertEquals(800, rateLimiter.getTimeUntilNextRequest());
+
+        rateLimiter.release(5);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testApproximateSlidingWindowRateLimiter() {
+        ApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new ApproximateSlidingWindowRateLimiter(2, 1000));
+        setTime(1_000_000);
+        assertTrue(rateLimiter.tryRequest(2));
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.release(2);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testTokenBucketRateLimiter() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(2, 1, 100));
+        assertTrue(rateLimiter.tryRequest(2));
+        rateLimiter.release();
+        assertEquals(1, rateLimiter.getAvailableTokens());
+        rateLimiter.release(5);
+        assertEquals(2, rateLimiter.getAvailableTokens());
+    }
+
+    @Test
+    void testGcraRateLimiter() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(100, 2));
+        rateLimiter.release();
+        assertTrue(rateLimiter.isIdle());
+        assertTrue(rateLimiter.tryRequest(2));
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.release(5);
+        assertTrue(rateLimiter.isIdle());
+    }
+
+    @Test
+    void testFixedDelayFixedWindowRateLimiter() {
+        FixedDelayFixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedDelayFixedWindowRateLimiter(100, 2, 1000));
+        assertTrue(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest(2));
+    }
+
+    @Test
+    void testCompositeRateLimiter() {
+        CompositeRateLimiter rateLimiter = initCDRL(() -> new CompositeRateLimiter(
+                new FixedDelayRateLimiter(100),
+                new FixedWindowRateLimiter(2, 1000)
+        ));
+        assertTrue(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+        sleep(100);
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.release();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testThreadSafetyEnforcementWrapper() {
+        FixedWindowRateLimiter wrapped = initCDRL(() -> new FixedWindowRateLimiter(2, 1000));
+        RateLimiter rateLimiter = new RateLimiterThreadSafetyEnforcementWrapper(wrapped);
+        assertTrue(rateLimiter.tryRequest(2));
+        rateLimiter.release(2);
+        assertEquals(0, wrapped.getUsedQuota());
+    }
+
+}
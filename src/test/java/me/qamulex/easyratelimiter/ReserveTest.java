@@ -0,0 +1,151 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.ApproximateSlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.ConcurrentFixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedDelayWindowBasedRateLimiter;
+import me.qamulex.easyratelimiter.impl.FixedWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.GcraRateLimiter;
+import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
+import me.qamulex.easyratelimiter.impl.TokenBucketRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class ReserveTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testFixedDelayRateLimiter() {
+        FixedDelayRateLimiter rateLimiter = initCDRL(() -> new FixedDelayRateLimiter(100));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(100, rateLimiter.reserve());
+        assertEquals(200, rateLimiter.reserve());
+        assertFalse(rateLimiter.isRequestAllowed());
+        sleep(200);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testConcurrentFixedDelayRateLimiter() {
+        ConcurrentFixedDelayRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedDelayRateLimiter(100));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(100, rateLimiter.reserve(2));
+        assertEquals(300, rateLimiter.reserve());
+        sleep(300);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testFixedWindowRateLimiter() {
+        FixedWindowRateLimiter rateLimiter = initCDRL(() -> new FixedWindowRateLimiter(2, 1000));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(1000, rateLimiter.reserve());
+        sleep(500);
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(500, rateLimiter.getTimeUntilNextRequest());
+        sleep(500);
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testConcurrentFixedWindowRateLimiter() {
+        ConcurrentFixedWindowRateLimiter rateLimiter = initCDRL(() -> new ConcurrentFixedWindowRateLimiter(2, 1000));
+        setTime(1_000_250);
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(750, rateLimiter.reserve());
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(750, rateLimiter.getTimeUntilNextRequest());
+        sleep(750);
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testSlidingWindowRateLimiter() {
+        SlidingWindowRateLimiter rateLimiter = initCDRL(() -> new SlidingWindowRateLimiter(2, 1000));
+        assertEquals(0, rateLimiter.reserve());
+        sleep(100);
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(900, rateLimiter.reserve());
+        sleep(500);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(400);
+        assertFalse(rateLimiter.tryRequest());
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testApproximateSlidingWindowRateLimiter() {
+        ApproximateSlidingWindowRateLimiter rateLimiter = initCDRL(() -> new ApproximateSlidingWindowRateLimiter(2, 1000));
+        setTime(1_000_000);
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        long waitTime = rateLimiter.reserve();
+        assertTrue(waitTime > 1000);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(waitTime);
+        assertFalse(rateLimiter.tryRequest());
+        assertTrue(rateLimiter.getTimeUntilNextRequest() > 0);
+    }
+
+    @Test
+    void testTokenBucketRateLimiter() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(2, 1, 100));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(100, rateLimiter.reserve());
+        assertEquals(200, rateLimiter.reserve());
+        sleep(200);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testGcraRateLimiter() {
+        GcraRateLimiter rateLimiter = initCDRL(() -> new GcraRateLimiter(100, 2));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(100, rateLimiter.reserve());
+        assertEquals(200, rateLimiter.reserve());
+        sleep(200);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testFixedDelayWindowBasedRateLimiter() {
+        FixedDelayWindowBasedRateLimiter rateLimiter = initCDRL(() -> new FixedDelayWindowBasedRateLimiter(
+                new FixedDelayRateLimiter(100),
+                new FixedWindowRateLimiter(2, 1000)
+        ));
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(100, rateLimiter.reserve());
+        assertEquals(1000, rateLimiter.reserve());
+        sleep(1000);
+        assertFalse(rateLimiter.tryRequest());
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import me.qamulex.easyratelimiter.impl.SlidingWindowRateLimiter;
@@ -54,4 +55,30 @@ class SlidingWindowRateLimiterTest extends ClockDependentRateLimiterTestBase {
         assertTrue(rateLimiter.tryRequest());
     }
 
+    @Test
+    void testWeightedRequest() {
+        SlidingWindowRateLimiter rateLimiter = initCDRL(() -> new SlidingWindowRateLimiter(5, 1000));
+        assertTrue(rateLimiter.tryRequest(3));
+        sleep(100);
+        assertFalse(rateLimiter.tryRequest(3));
+        assertEquals(900, rateLimiter.getTimeUntilNextRequest(3));
+        assertTrue(rateLimiter.tryRequest(2));
+        assertEquals(5, rateLimiter.getUsedQuota());
+        sleep(900);
+        assertTrue(rateLimiter.tryRequest(3));
+        assertFalse(rateLimiter.isRequestAllowed());
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(6));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(0));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testNextPossibleRequestTimeMillis() {
+        SlidingWindowRateLimiter rateLimiter = initCDRL(() -> new SlidingWindowRateLimiter(2, 1000));
+        assertTrue(rateLimiter.tryRequest());
+        sleep(250);
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(getTime() + 750, rateLimiter.getNextPossibleRequestTimeMillis());
+    }
+
 }
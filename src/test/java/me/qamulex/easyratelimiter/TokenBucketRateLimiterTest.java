@@ -0,0 +1,77 @@
+/*
+ * Created on Oct 17, 2026
+ *
+ * Copyright (c) qamulex
+ */
+package me.qamulex.easyratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.qamulex.easyratelimiter.impl.TokenBucketRateLimiter;
+import me.qamulex.easyratelimiter.util.ClockDependentRateLimiterTestBase;
+
+class TokenBucketRateLimiterTest extends ClockDependentRateLimiterTestBase {
+
+    @Test
+    void testTryRequest() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(20, 5, 1000));
+        for (int i = 0; i < 20; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        sleep(200);
+        assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        sleep(1000);
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testRefillIsCappedByCapacity() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(3, 5, 1000));
+        assertTrue(rateLimiter.tryRequest());
+        sleep(10_000);
+        assertEquals(3, rateLimiter.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    void testGetTimeUntilNextRequest() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(2, 5, 1000));
+        assertTrue(rateLimiter.tryRequest());
+        assertTrue(rateLimiter.tryRequest());
+        assertEquals(200, rateLimiter.getTimeUntilNextRequest());
+        sleep(150);
+        assertEquals(50, rateLimiter.getTimeUntilNextRequest());
+        sleep(50);
+        assertEquals(0, rateLimiter.getTimeUntilNextRequest());
+    }
+
+    @Test
+    void testReset() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(5, 1, 1000));
+        for (int i = 0; i < 5; i++)
+            assertTrue(rateLimiter.tryRequest());
+        assertFalse(rateLimiter.tryRequest());
+        rateLimiter.reset();
+        assertTrue(rateLimiter.tryRequest());
+    }
+
+    @Test
+    void testWeightedRequest() {
+        TokenBucketRateLimiter rateLimiter = initCDRL(() -> new TokenBucketRateLimiter(10, 1, 100));
+        assertTrue(rateLimiter.tryRequest(8));
+        assertFalse(rateLimiter.tryRequest(3));
+        assertEquals(100, rateLimiter.getTimeUntilNextRequest(3));
+        sleep(100);
+        assertTrue(rateLimiter.tryRequest(3));
+        assertEquals(0, rateLimiter.getAvailableTokens(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryRequest(11));
+    }
+
+}